@@ -0,0 +1,168 @@
+package com.solvd.benchmarks;
+
+import com.solvd.offline.FixtureProduct;
+import com.solvd.offline.FixtureStorefront;
+import com.solvd.offline.InMemoryWebDriver;
+import com.solvd.pages.common.CartPageBase;
+import com.solvd.pages.common.SearchResultsPageBase;
+import com.solvd.pages.desktop.CartPage;
+import com.solvd.pages.desktop.SearchResultsPage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageReadPathBenchmark {
+
+    private static final String KEYWORD = "mug";
+
+    @Param({"24"})
+    public int cards;
+
+    @Param({"3"})
+    public int cartLines;
+
+    private InMemoryWebDriver searchDriver;
+    private InMemoryWebDriver cartDriver;
+    private CommandCounter searchCommands;
+    private CommandCounter cartCommands;
+    private SearchResultsPageBase resultsPage;
+    private WebDriver cartSession;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Commands {
+        public long commands;
+        public long invocations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            commands = 0;
+            invocations = 0;
+        }
+    }
+
+    private static final class CommandCounter implements WebDriverListener {
+
+        private static final Set<String> LOCAL_METHODS = Set.of(
+                "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement",
+                "manage", "switchTo", "navigate", "timeouts", "window"
+        );
+
+        private long commands;
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (!LOCAL_METHODS.contains(method.getName())) {
+                commands++;
+            }
+        }
+
+        long drain() {
+            long drained = commands;
+            commands = 0;
+            return drained;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FixtureStorefront storefront = new FixtureStorefront(catalog(cards));
+
+        searchDriver = new InMemoryWebDriver(storefront);
+        searchCommands = new CommandCounter();
+        WebDriver searchSession = new EventFiringDecorator<>(searchCommands).decorate(searchDriver);
+        searchSession.get(URI.create(InMemoryWebDriver.BASE_URL)
+                .resolve(FixtureStorefront.STOREFRONT_PATH + "?controller=search&s=product").toString());
+        resultsPage = new SearchResultsPage(searchSession);
+
+        cartDriver = new InMemoryWebDriver(storefront);
+        for (int i = 0; i < cartLines; i++) {
+            cartDriver.cart().add(storefront.catalog().get(i).id(), i + 1);
+        }
+        cartCommands = new CommandCounter();
+        cartSession = new EventFiringDecorator<>(cartCommands).decorate(cartDriver);
+        cartSession.get(URI.create(InMemoryWebDriver.BASE_URL).resolve(FixtureStorefront.cartUrl()).toString());
+
+        searchCommands.drain();
+        cartCommands.drain();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        searchDriver.quit();
+        cartDriver.quit();
+    }
+
+    @Benchmark
+    public List<String> searchResultsVisibleTitles(Commands counter) {
+        List<String> titles = resultsPage.getVisibleProductTitles();
+        count(counter, searchCommands);
+        return titles;
+    }
+
+    @Benchmark
+    public boolean searchResultsKeywordLookup(Commands counter) {
+        boolean found = resultsPage.hasAnyProductTitleContaining(KEYWORD);
+        count(counter, searchCommands);
+        return found;
+    }
+
+    @Benchmark
+    public int searchResultsCardCount(Commands counter) {
+        int count = resultsPage.getVisibleProductCardCount();
+        count(counter, searchCommands);
+        return count;
+    }
+
+    @Benchmark
+    public BigDecimal cartTotals(Commands counter) {
+        CartPageBase cartPage = new CartPage(cartSession);
+        BigDecimal total = cartPage.getProductsSubtotal()
+                .add(cartPage.getTotal())
+                .add(BigDecimal.valueOf(cartPage.getQuantity() + cartPage.getCartLinesCount() + cartPage.getCartItemsCount()));
+        count(counter, cartCommands);
+        return total;
+    }
+
+    private static void count(Commands counter, CommandCounter commands) {
+        counter.commands += commands.drain();
+        counter.invocations++;
+    }
+
+    private static List<FixtureProduct> catalog(int count) {
+        List<FixtureProduct> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String name = "Product " + i + (i % 4 == 0 ? " Mug" : " T-shirt");
+            products.add(new FixtureProduct(i, name, new BigDecimal(10 + i + ".90"), false, false));
+        }
+        return products;
+    }
+}
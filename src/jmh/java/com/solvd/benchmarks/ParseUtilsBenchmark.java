@@ -0,0 +1,60 @@
+package com.solvd.benchmarks;
+
+import com.solvd.models.Money;
+import com.solvd.utils.ParseUtils;
+import com.solvd.utils.TextUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseUtilsBenchmark {
+
+    @Param({"€23.90", "1.234,56 €", "$1,234,567.89", "(5.00)"})
+    public String money;
+
+    @Param({"(12) items"})
+    public String cartCount;
+
+    public String productTitle = "  Hummingbird   printed\tT-shirt  ";
+
+    @Benchmark
+    public BigDecimal parseMoney() {
+        return ParseUtils.parseMoney(money);
+    }
+
+    @Benchmark
+    public Money parseMoneyValue() {
+        return ParseUtils.parseMoneyValue(money);
+    }
+
+    @Benchmark
+    public int parseCount() {
+        return ParseUtils.parseCount(cartCount);
+    }
+
+    @Benchmark
+    public int parseIntegerFromText() {
+        return ParseUtils.parseIntegerFromText(cartCount);
+    }
+
+    @Benchmark
+    public String normalizeText() {
+        return TextUtils.normalizeText(productTitle);
+    }
+}
@@ -0,0 +1,52 @@
+package com.solvd.browser;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class BrowserScripts {
+
+    private static final Duration ASYNC_SCRIPT_MARGIN = Duration.ofSeconds(5);
+
+    private static final Map<WebDriver, Duration> SCRIPT_TIMEOUTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private BrowserScripts() {
+    }
+
+    public static JavascriptExecutor executor(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor js)) {
+            throw new IllegalStateException("Driver does not support JavaScript execution: " + driver.getClass());
+        }
+        return js;
+    }
+
+    public static Object execute(WebDriver driver, String script, Object... args) {
+        return executor(driver).executeScript(script, args);
+    }
+
+    public static Object executeAsync(WebDriver driver, Duration timeout, String script, Object... args) {
+        ensureScriptTimeout(driver, timeout.plus(ASYNC_SCRIPT_MARGIN));
+        return executor(driver).executeAsyncScript(script, args);
+    }
+
+    private static void ensureScriptTimeout(WebDriver driver, Duration required) {
+        WebDriver key = unwrap(driver);
+        Duration current = SCRIPT_TIMEOUTS.get(key);
+        if (current != null && current.compareTo(required) >= 0) return;
+
+        driver.manage().timeouts().scriptTimeout(required);
+        SCRIPT_TIMEOUTS.put(key, required);
+    }
+
+    static WebDriver unwrap(WebDriver driver) {
+        if (driver instanceof Decorated<?>) {
+            driver = (WebDriver) ((Decorated<?>) driver).getOriginal();
+        }
+        return driver;
+    }
+}
@@ -0,0 +1,67 @@
+package com.solvd.browser;
+
+import com.zebrunner.carina.webdriver.gui.AbstractUIObject;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public final class ComponentListCache<T extends AbstractUIObject> {
+
+    private static final String GENERATION_SCRIPT = """
+            /* solvd:dom-generation */
+            var selector = arguments[0];
+            var registry = window.__solvdGenerations || (window.__solvdGenerations = {
+                documentId: Date.now().toString(36) + Math.random().toString(36).slice(2),
+                containers: {}
+            });
+            var container = document.querySelector(selector);
+            var entry = registry.containers[selector];
+            if (!entry || entry.node !== container) {
+                if (entry && entry.observer) entry.observer.disconnect();
+                entry = registry.containers[selector] = {node: container, generation: entry ? entry.generation + 1 : 0, observer: null};
+                if (container) {
+                    entry.observer = new MutationObserver(function () {
+                        entry.generation++;
+                    });
+                    entry.observer.observe(container, {childList: true, subtree: true});
+                }
+            }
+            return registry.documentId + ':' + selector + ':' + entry.generation;
+            """;
+
+    private final WebDriver driver;
+    private final String containerSelector;
+    private final Supplier<List<T>> source;
+
+    private List<T> cached;
+    private String stamp;
+
+    public ComponentListCache(WebDriver driver, String containerSelector, Supplier<List<T>> source) {
+        this.driver = driver;
+        this.containerSelector = containerSelector;
+        this.source = source;
+    }
+
+    public List<T> get() {
+        String generation = readGeneration();
+        if (cached != null && Objects.equals(stamp, generation)) {
+            return cached;
+        }
+
+        cached = List.copyOf(source.get());
+        stamp = generation;
+        return cached;
+    }
+
+    public void invalidate() {
+        cached = null;
+        stamp = null;
+    }
+
+    private String readGeneration() {
+        Object generation = BrowserScripts.execute(driver, GENERATION_SCRIPT, containerSelector);
+        return generation == null ? null : generation.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.solvd.browser;
+
+import com.solvd.metrics.WaitLedger;
+import com.solvd.utils.ParseUtils;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public final class DomChangeWatcher {
+
+    private static final String MODE_APPEAR = "appear";
+    private static final String MODE_TEXT_CHANGE = "text-change";
+    private static final String MODE_COUNT_ABOVE = "count-above";
+
+    private static final String WATCH_SCRIPT = """
+            /* solvd:dom-watch */
+            var selector = arguments[0], mode = arguments[1], reference = arguments[2], timeoutMs = arguments[3];
+            var done = arguments[arguments.length - 1];
+            function isShown(el) {
+                return el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            function evaluate() {
+                var el = document.querySelector(selector);
+                if (!el) return null;
+                var text = (el.innerText || el.textContent || '').trim();
+                if (mode === 'appear') return isShown(el) ? {text: text} : null;
+                if (mode === 'text-change') return text !== reference ? {text: text} : null;
+                var digits = text.replace(/[^0-9]/g, '');
+                return digits && parseInt(digits, 10) > reference ? {text: text} : null;
+            }
+            var initial = evaluate();
+            if (initial) {
+                done(initial);
+                return;
+            }
+            var finished = false, observer, timer;
+            function finish(result) {
+                if (finished) return;
+                finished = true;
+                observer.disconnect();
+                clearTimeout(timer);
+                done(result);
+            }
+            observer = new MutationObserver(function () {
+                var result = evaluate();
+                if (result) finish(result);
+            });
+            observer.observe(document.documentElement, {subtree: true, childList: true, characterData: true, attributes: true});
+            timer = setTimeout(function () {
+                finish(null);
+            }, timeoutMs);
+            """;
+
+    private DomChangeWatcher() {
+    }
+
+    public static boolean awaitElement(WebDriver driver, String cssSelector, Duration timeout) {
+        return watch(driver, cssSelector, MODE_APPEAR, null, timeout).isPresent();
+    }
+
+    public static Optional<String> awaitTextChange(WebDriver driver, String cssSelector, String previousText, Duration timeout) {
+        return watch(driver, cssSelector, MODE_TEXT_CHANGE, previousText == null ? "" : previousText.trim(), timeout);
+    }
+
+    public static OptionalInt awaitCountAbove(WebDriver driver, String cssSelector, int threshold, Duration timeout) {
+        return watch(driver, cssSelector, MODE_COUNT_ABOVE, threshold, timeout)
+                .map(text -> OptionalInt.of(ParseUtils.parseCount(text)))
+                .orElse(OptionalInt.empty());
+    }
+
+    private static Optional<String> watch(WebDriver driver, String cssSelector, String mode, Object reference, Duration timeout) {
+        return WaitLedger.awaitResult(timeout, () -> {
+            Object result = BrowserScripts.executeAsync(driver, timeout, WATCH_SCRIPT,
+                    cssSelector, mode, reference, timeout.toMillis());
+
+            if (result instanceof Map<?, ?> match) {
+                Object text = match.get("text");
+                return Optional.of(text == null ? "" : text.toString());
+            }
+            return Optional.empty();
+        });
+    }
+}
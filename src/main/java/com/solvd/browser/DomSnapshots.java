@@ -0,0 +1,142 @@
+package com.solvd.browser;
+
+import com.solvd.models.CartSnapshot;
+import com.solvd.models.ProductCard;
+import com.solvd.utils.ParseUtils;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class DomSnapshots {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final String PRODUCT_CARDS_SCRIPT = """
+            /* solvd:product-cards */
+            function text(el) {
+                return el ? (el.innerText || el.textContent || '').trim() : '';
+            }
+            function isShown(el) {
+                return el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            var cards = document.querySelectorAll('#js-product-list .product-miniature');
+            var result = [];
+            for (var i = 0; i < cards.length; i++) {
+                var link = cards[i].querySelector('.product-title a');
+                result.push({
+                    title: text(link),
+                    url: link ? link.href : '',
+                    price: text(cards[i].querySelector('.product-price-and-shipping .price, .price')),
+                    visible: isShown(cards[i])
+                });
+            }
+            return result;
+            """;
+
+    private static final String CART_SCRIPT = """
+            /* solvd:cart-snapshot */
+            var timeoutMs = arguments[0], pollMs = arguments[1];
+            var done = arguments[arguments.length - 1];
+            function text(el) {
+                return el ? (el.innerText || el.textContent || '').trim() : '';
+            }
+            function isShown(el) {
+                return !!el && el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            function hasDigit(value) {
+                return /[0-9]/.test(value);
+            }
+            function capture() {
+                var lines = [];
+                var items = document.querySelectorAll('#main .cart-items .cart-item');
+                for (var i = 0; i < items.length; i++) {
+                    if (!isShown(items[i])) continue;
+                    var quantity = items[i].querySelector('input.js-cart-line-product-quantity');
+                    lines.push({
+                        title: text(items[i].querySelector('.product-line-info a')),
+                        quantity: quantity ? quantity.value : '',
+                        unitPrice: text(items[i].querySelector('.product-line-info .current-price .price, .product-line-info .price')),
+                        lineTotal: text(items[i].querySelector('.product-price strong') || items[i].querySelector('.product-price'))
+                    });
+                }
+                return {
+                    lines: lines,
+                    subtotal: text(document.querySelector('#cart-subtotal-products .value, .cart-summary-line.cart-subtotal .value, .cart-subtotal .value')),
+                    total: text(document.querySelector('.cart-total .value')),
+                    itemCount: text(document.querySelector('.cart-products-count')),
+                    empty: isShown(document.querySelector('#main .no-items'))
+                };
+            }
+            function isSettled(snapshot) {
+                var network = window.__solvdNetwork;
+                if (network && network.inFlight > 0) return false;
+                return snapshot.empty || (hasDigit(snapshot.subtotal) && hasDigit(snapshot.total));
+            }
+            var deadline = Date.now() + timeoutMs;
+            (function poll() {
+                var snapshot = capture();
+                if (isSettled(snapshot) || Date.now() >= deadline) {
+                    done(snapshot);
+                } else {
+                    setTimeout(poll, pollMs);
+                }
+            })();
+            """;
+
+    private DomSnapshots() {
+    }
+
+    public static List<ProductCard> productCards(WebDriver driver) {
+        Object raw = BrowserScripts.execute(driver, PRODUCT_CARDS_SCRIPT);
+        if (!(raw instanceof List<?> rows)) return List.of();
+
+        List<ProductCard> cards = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            if (row instanceof Map<?, ?> card) {
+                cards.add(new ProductCard(
+                        asString(card.get("title")),
+                        asString(card.get("url")),
+                        ParseUtils.parseMoney(asString(card.get("price"))),
+                        Boolean.TRUE.equals(card.get("visible"))
+                ));
+            }
+        }
+        return List.copyOf(cards);
+    }
+
+    public static CartSnapshot cart(WebDriver driver, Duration timeout) {
+        Object raw = BrowserScripts.executeAsync(driver, timeout, CART_SCRIPT, timeout.toMillis(), POLL_INTERVAL_MS);
+        if (!(raw instanceof Map<?, ?> cart)) {
+            throw new IllegalStateException("Cart snapshot script returned no data");
+        }
+
+        List<CartSnapshot.Line> lines = new ArrayList<>();
+        if (cart.get("lines") instanceof List<?> rows) {
+            for (Object row : rows) {
+                if (row instanceof Map<?, ?> line) {
+                    lines.add(new CartSnapshot.Line(
+                            asString(line.get("title")),
+                            ParseUtils.parseCount(asString(line.get("quantity"))),
+                            ParseUtils.parseMoney(asString(line.get("unitPrice"))),
+                            ParseUtils.parseMoney(asString(line.get("lineTotal")))
+                    ));
+                }
+            }
+        }
+
+        return new CartSnapshot(
+                lines,
+                ParseUtils.parseMoney(asString(cart.get("subtotal"))),
+                ParseUtils.parseMoney(asString(cart.get("total"))),
+                ParseUtils.parseIntegerFromText(asString(cart.get("itemCount"))),
+                Boolean.TRUE.equals(cart.get("empty"))
+        );
+    }
+
+    private static String asString(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.solvd.browser;
+
+import com.solvd.pages.common.BasePage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public final class FrameContextTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrameContextTracker.class);
+
+    private static final String FRAME_CONTEXT_SCRIPT = """
+            /* solvd:frame-context */
+            return {nested: window !== window.top, wrapper: document.querySelector(arguments[0]) !== null};
+            """;
+
+    private static final Map<WebDriver, FrameLocation> LOCATIONS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FrameContextTracker() {
+    }
+
+    public enum FrameLocation {
+        TOP_LEVEL(false),
+        FRONT_OFFICE_IFRAME(true);
+
+        private final boolean nested;
+
+        FrameLocation(boolean nested) {
+            this.nested = nested;
+        }
+
+        public boolean isNested() {
+            return nested;
+        }
+    }
+
+    public static void record(WebDriver driver, FrameLocation location) {
+        LOCATIONS.put(BrowserScripts.unwrap(driver), location);
+    }
+
+    public static void invalidate(WebDriver driver) {
+        LOCATIONS.remove(BrowserScripts.unwrap(driver));
+    }
+
+    public static FrameLocation getRecordedLocation(WebDriver driver) {
+        return LOCATIONS.get(BrowserScripts.unwrap(driver));
+    }
+
+    public static boolean isCurrent(WebDriver driver) {
+        FrameLocation recorded = getRecordedLocation(driver);
+        if (recorded == null) return false;
+
+        try {
+            if (BrowserScripts.execute(driver, FRAME_CONTEXT_SCRIPT, BasePage.FRONT_OFFICE_IFRAME_CSS) instanceof Map<?, ?> context
+                    && Boolean.TRUE.equals(context.get("nested")) == recorded.isNested()
+                    && !Boolean.TRUE.equals(context.get("wrapper"))) {
+                return true;
+            }
+        } catch (WebDriverException e) {
+            LOGGER.debug("Frame context check failed, storefront frame will be located again", e);
+        }
+
+        invalidate(driver);
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.solvd.browser;
+
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+public final class FrontOfficeUrls {
+
+    private static final Map<WebDriver, Entry> ROOTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private FrontOfficeUrls() {
+    }
+
+    private record Entry(String storefrontUrl, URI root) {
+    }
+
+    public static void record(WebDriver driver, String storefrontUrl, URI root) {
+        ROOTS.put(BrowserScripts.unwrap(driver), new Entry(storefrontUrl, root));
+    }
+
+    public static Optional<URI> lookup(WebDriver driver, String storefrontUrl) {
+        Entry entry = ROOTS.get(BrowserScripts.unwrap(driver));
+        return entry != null && entry.storefrontUrl().equals(storefrontUrl) ? Optional.of(entry.root()) : Optional.empty();
+    }
+}
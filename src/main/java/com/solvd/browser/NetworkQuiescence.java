@@ -0,0 +1,140 @@
+package com.solvd.browser;
+
+import com.solvd.metrics.WaitLedger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+public final class NetworkQuiescence {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkQuiescence.class);
+
+    private static final long QUIET_PERIOD_MS = 150;
+    private static final long NO_REQUEST_GRACE_MS = 500;
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final long NO_BASELINE = -1;
+
+    private static final String INSTALL_SCRIPT = """
+            /* solvd:network-install */
+            if (!window.__solvdNetwork) {
+                var state = window.__solvdNetwork = {inFlight: 0, started: 0, lastActivity: Date.now()};
+                var begin = function () {
+                    state.inFlight++;
+                    state.started++;
+                    state.lastActivity = Date.now();
+                };
+                var end = function () {
+                    state.inFlight = Math.max(0, state.inFlight - 1);
+                    state.lastActivity = Date.now();
+                };
+                var send = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                    begin();
+                    this.addEventListener('loadend', end);
+                    return send.apply(this, arguments);
+                };
+                if (window.fetch) {
+                    var originalFetch = window.fetch;
+                    window.fetch = function () {
+                        begin();
+                        var pending = originalFetch.apply(this, arguments);
+                        pending.then(end, end);
+                        return pending;
+                    };
+                }
+                new MutationObserver(function () {
+                    state.lastActivity = Date.now();
+                }).observe(document.documentElement, {subtree: true, childList: true, characterData: true, attributes: true});
+            }
+            return window.__solvdNetwork.started;
+            """;
+
+    private static final String AWAIT_SCRIPT = """
+            /* solvd:network-await */
+            var baseline = arguments[0], quietMs = arguments[1], timeoutMs = arguments[2], pollMs = arguments[3],
+                    graceMs = arguments[4];
+            var done = arguments[arguments.length - 1];
+            var begun = Date.now();
+            var deadline = begun + timeoutMs;
+            (function poll() {
+                var state = window.__solvdNetwork;
+                var now = Date.now();
+                var settled = document.readyState === 'complete' && (!state
+                        || (state.inFlight === 0 && now - state.lastActivity >= quietMs
+                                && (state.started > baseline || now - begun >= graceMs)));
+                if (settled || now >= deadline) {
+                    done({settled: settled, started: state ? state.started : 0,
+                            requestObserved: !!state && state.started > baseline, hookLost: !state && baseline >= 0});
+                } else {
+                    setTimeout(poll, pollMs);
+                }
+            })();
+            """;
+
+    private static final String SETTLED_SCRIPT = """
+            /* solvd:network-settled */
+            var state = window.__solvdNetwork, quietMs = arguments[0];
+            return document.readyState === 'complete'
+                    && (!state || (state.inFlight === 0 && Date.now() - state.lastActivity >= quietMs));
+            """;
+
+    private NetworkQuiescence() {
+    }
+
+    public record Result(boolean settled, boolean requestObserved) {
+
+        public boolean requestCompleted() {
+            return settled && requestObserved;
+        }
+    }
+
+    public static long install(WebDriver driver) {
+        Object started = BrowserScripts.execute(driver, INSTALL_SCRIPT);
+        return started instanceof Number n ? n.longValue() : 0;
+    }
+
+    public static Result awaitRequestsSince(WebDriver driver, long baseline, Duration timeout) {
+        final Result[] outcome = {new Result(false, false)};
+        WaitLedger.await(timeout, () -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            Object result;
+            try {
+                result = awaitScript(driver, baseline, timeout);
+            } catch (JavascriptException e) {
+                LOGGER.debug("Page unloaded while awaiting requests, waiting for the new document to load", e);
+                result = awaitScript(driver, baseline, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            }
+            if (!(result instanceof Map<?, ?> state)) return false;
+
+            if (Boolean.TRUE.equals(state.get("hookLost"))) {
+                LOGGER.debug("Request tracking was lost on navigation, settled on document readiness");
+            }
+            outcome[0] = new Result(Boolean.TRUE.equals(state.get("settled")), Boolean.TRUE.equals(state.get("requestObserved")));
+            return outcome[0].settled();
+        });
+        return outcome[0];
+    }
+
+    private static Object awaitScript(WebDriver driver, long baseline, Duration timeout) {
+        return BrowserScripts.executeAsync(driver, timeout, AWAIT_SCRIPT,
+                baseline, QUIET_PERIOD_MS, timeout.toMillis(), POLL_INTERVAL_MS, NO_REQUEST_GRACE_MS);
+    }
+
+    public static boolean awaitIdle(WebDriver driver, Duration timeout) {
+        return awaitRequestsSince(driver, NO_BASELINE, timeout).settled();
+    }
+
+    public static boolean isSettled(WebDriver driver) {
+        return Boolean.TRUE.equals(BrowserScripts.execute(driver, SETTLED_SCRIPT, QUIET_PERIOD_MS));
+    }
+
+    public static Result runAndAwait(WebDriver driver, Runnable action, Duration timeout) {
+        long baseline = install(driver);
+        action.run();
+        return awaitRequestsSince(driver, baseline, timeout);
+    }
+}
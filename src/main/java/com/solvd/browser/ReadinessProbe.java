@@ -0,0 +1,87 @@
+package com.solvd.browser;
+
+import com.solvd.metrics.WaitLedger;
+import com.solvd.pages.common.BasePage;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public final class ReadinessProbe {
+
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final String PROBE_SCRIPT = """
+            /* solvd:readiness-probe */
+            var selectors = arguments[0], timeoutMs = arguments[1], pollMs = arguments[2], frameSelector = arguments[3];
+            var done = arguments[arguments.length - 1];
+            function documents() {
+                var docs = [document];
+                var frame = document.querySelector(frameSelector);
+                if (frame) {
+                    try {
+                        if (frame.contentDocument) docs.push(frame.contentDocument);
+                    } catch (e) {
+                    }
+                }
+                return docs;
+            }
+            function isShown(el) {
+                return el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            function match() {
+                var docs = documents();
+                for (var i = 0; i < selectors.length; i++) {
+                    for (var d = 0; d < docs.length; d++) {
+                        var found = docs[d].querySelectorAll(selectors[i]);
+                        for (var j = 0; j < found.length; j++) {
+                            if (isShown(found[j])) return i;
+                        }
+                    }
+                }
+                return -1;
+            }
+            var deadline = Date.now() + timeoutMs;
+            (function poll() {
+                var index = match();
+                if (index >= 0 || Date.now() >= deadline) {
+                    done(index);
+                } else {
+                    setTimeout(poll, pollMs);
+                }
+            })();
+            """;
+
+    private final List<Outcome> outcomes;
+    private final List<String> selectors;
+
+    private ReadinessProbe(List<Outcome> outcomes) {
+        this.outcomes = List.copyOf(outcomes);
+        this.selectors = this.outcomes.stream().map(Outcome::cssSelector).toList();
+    }
+
+    public record Outcome(String name, String cssSelector) {
+    }
+
+    public static ReadinessProbe of(Outcome... outcomes) {
+        if (outcomes.length == 0) {
+            throw new IllegalArgumentException("Readiness probe needs at least one outcome");
+        }
+        return new ReadinessProbe(List.of(outcomes));
+    }
+
+    public Optional<Outcome> check(WebDriver driver) {
+        return await(driver, Duration.ZERO);
+    }
+
+    public Optional<Outcome> await(WebDriver driver, Duration timeout) {
+        return WaitLedger.awaitResult(timeout, () -> {
+            Object result = BrowserScripts.executeAsync(driver, timeout, PROBE_SCRIPT,
+                    selectors, timeout.toMillis(), POLL_INTERVAL_MS, BasePage.FRONT_OFFICE_IFRAME_CSS);
+
+            int index = result instanceof Number n ? n.intValue() : -1;
+            return index >= 0 && index < outcomes.size() ? Optional.of(outcomes.get(index)) : Optional.empty();
+        });
+    }
+}
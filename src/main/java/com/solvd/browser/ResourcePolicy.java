@@ -0,0 +1,311 @@
+package com.solvd.browser;
+
+import com.zebrunner.carina.utils.R;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class ResourcePolicy implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourcePolicy.class);
+
+    private static final String ENABLED_KEY = "resource_policy";
+    private static final String BLOCK_TYPES_KEY = "resource_policy.block_types";
+    private static final String BLOCK_URLS_KEY = "resource_policy.block_urls";
+    private static final String STUB_URLS_KEY = "resource_policy.stub_urls";
+
+    private static final Set<String> CHROMIUM_BROWSERS = Set.of("chrome", "chromium", "microsoftedge", "msedge");
+    private static final Set<String> MOBILE_PLATFORMS = Set.of("android", "ios");
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FAILED =
+            new Event<>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE));
+    private static final String BLOCKED_BY_DEVTOOLS = "inspector";
+
+    private static final Map<WebDriver, ResourcePolicy> ATTACHED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String TRANSFER_SIZE_SCRIPT = """
+            /* solvd:transfer-size */
+            var entries = performance.getEntriesByType('navigation').concat(performance.getEntriesByType('resource'));
+            var bytes = 0;
+            for (var i = 0; i < entries.length; i++) {
+                bytes += entries[i].transferSize || 0;
+            }
+            return {requests: entries.length, bytes: bytes};
+            """;
+
+    public enum ResourceType {
+        IMAGE("Image"),
+        FONT("Font"),
+        MEDIA("Media"),
+        STYLESHEET("Stylesheet"),
+        SCRIPT("Script"),
+        OTHER;
+
+        private final Set<String> cdpTypes;
+
+        ResourceType(String... cdpTypes) {
+            this.cdpTypes = Set.of(cdpTypes);
+        }
+
+        static ResourceType of(Object cdpType) {
+            for (ResourceType type : values()) {
+                if (type.cdpTypes.contains(cdpType)) return type;
+            }
+            return OTHER;
+        }
+    }
+
+    public record Report(Map<ResourceType, Long> blocked, Map<ResourceType, Long> stubbed,
+                         long pageRequests, long pageTransferBytes) {
+
+        public long blockedRequests() {
+            return blocked.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long stubbedRequests() {
+            return stubbed.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final WebDriver driver;
+    private final Set<ResourceType> blockedTypes;
+    private final List<String> blockedUrls;
+    private final List<String> stubbedUrls;
+    private final List<Pattern> stubbedPatterns;
+    private final AtomicLongArray blocked = new AtomicLongArray(ResourceType.values().length);
+    private final AtomicLongArray stubbed = new AtomicLongArray(ResourceType.values().length);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final DevTools devTools;
+
+    private ResourcePolicy(WebDriver driver, Set<ResourceType> blockedTypes, List<String> blockedUrls, List<String> stubbedUrls) {
+        this.driver = driver;
+        this.blockedTypes = blockedTypes;
+        this.blockedUrls = blockedUrls;
+        this.stubbedUrls = stubbedUrls;
+        this.stubbedPatterns = stubbedUrls.stream().map(ResourcePolicy::globToPattern).toList();
+        this.devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        if (!blockedUrls.isEmpty()) {
+            devTools.addListener(LOADING_FAILED, this::countBlockedByBrowser);
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", blockedUrls)));
+        }
+
+        List<Map<String, Object>> patterns = interceptPatterns();
+        if (!patterns.isEmpty()) {
+            devTools.addListener(REQUEST_PAUSED, this::intercept);
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+    }
+
+    private List<Map<String, Object>> interceptPatterns() {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (ResourceType type : blockedTypes) {
+            for (String cdpType : type.cdpTypes) {
+                patterns.add(Map.of("resourceType", cdpType, "requestStage", "Request"));
+            }
+        }
+        for (String glob : stubbedUrls) {
+            patterns.add(Map.of("urlPattern", glob, "requestStage", "Request"));
+        }
+        return patterns;
+    }
+
+    private void intercept(Map<String, Object> paused) {
+        Object requestId = paused.get("requestId");
+        String url = paused.get("request") instanceof Map<?, ?> request && request.get("url") instanceof String u ? u : "";
+        ResourceType type = ResourceType.of(paused.get("resourceType"));
+        try {
+            if (closed.get()) {
+                continueRequest(requestId);
+            } else if (matches(stubbedPatterns, url)) {
+                stubbed.incrementAndGet(type.ordinal());
+                fulfill(requestId, 200, contentType(type));
+            } else if (blockedTypes.contains(type)) {
+                blocked.incrementAndGet(type.ordinal());
+                fulfill(requestId, 204, "text/plain");
+            } else {
+                continueRequest(requestId);
+            }
+        } catch (WebDriverException e) {
+            LOGGER.debug("Cannot answer intercepted request {}", url, e);
+        }
+    }
+
+    private void countBlockedByBrowser(Map<String, Object> failed) {
+        if (!closed.get() && BLOCKED_BY_DEVTOOLS.equals(failed.get("blockedReason"))) {
+            blocked.incrementAndGet(ResourceType.of(failed.get("type")).ordinal());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(R.CONFIG.get(ENABLED_KEY));
+    }
+
+    public static Optional<ResourcePolicy> attach(WebDriver driver) {
+        if (!isEnabled()) return Optional.empty();
+
+        WebDriver target = BrowserScripts.unwrap(driver);
+        synchronized (ATTACHED) {
+            ResourcePolicy existing = ATTACHED.get(target);
+            if (existing != null) return Optional.of(existing);
+
+            if (!isDesktopChromium(target)) {
+                LOGGER.debug("Resource policy skipped: not a desktop Chromium session");
+                return Optional.empty();
+            }
+
+            try {
+                WebDriver devToolsDriver = target instanceof HasDevTools ? target : new Augmenter().augment(target);
+                if (!(devToolsDriver instanceof HasDevTools)) {
+                    LOGGER.warn("Resource policy skipped: session does not expose DevTools");
+                    return Optional.empty();
+                }
+
+                ResourcePolicy policy = new ResourcePolicy(devToolsDriver, configuredTypes(),
+                        split(R.CONFIG.get(BLOCK_URLS_KEY)), split(R.CONFIG.get(STUB_URLS_KEY)));
+                ATTACHED.put(target, policy);
+                LOGGER.info("Resource policy attached: blocking {} plus {} URL patterns, stubbing {} URL patterns",
+                        policy.blockedTypes, policy.blockedUrls.size(), policy.stubbedUrls.size());
+                return Optional.of(policy);
+            } catch (WebDriverException e) {
+                LOGGER.warn("Resource policy skipped: DevTools interception unavailable", e);
+                return Optional.empty();
+            }
+        }
+    }
+
+    public Report drainReport() {
+        long pageRequests = 0;
+        long pageBytes = 0;
+        try {
+            if (BrowserScripts.execute(driver, TRANSFER_SIZE_SCRIPT) instanceof Map<?, ?> page) {
+                pageRequests = page.get("requests") instanceof Number n ? n.longValue() : 0;
+                pageBytes = page.get("bytes") instanceof Number n ? n.longValue() : 0;
+            }
+        } catch (WebDriverException e) {
+            LOGGER.debug("Cannot read resource timing for the current page", e);
+        }
+        return new Report(drain(blocked), drain(stubbed), pageRequests, pageBytes);
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+
+        ATTACHED.values().remove(this);
+        try {
+            devTools.send(new Command<>("Fetch.disable", Map.of()));
+            if (!blockedUrls.isEmpty()) {
+                devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", List.of())));
+            }
+        } catch (WebDriverException e) {
+            LOGGER.debug("Cannot disable request interception", e);
+        }
+    }
+
+    public static void detach(WebDriver driver) {
+        ResourcePolicy policy = ATTACHED.get(BrowserScripts.unwrap(driver));
+        if (policy != null) {
+            policy.close();
+        }
+    }
+
+    private void continueRequest(Object requestId) {
+        devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+    }
+
+    private void fulfill(Object requestId, int status, String contentType) {
+        devTools.send(new Command<>("Fetch.fulfillRequest", Map.of(
+                "requestId", requestId,
+                "responseCode", status,
+                "responseHeaders", List.of(Map.of("name", "Content-Type", "value", contentType)),
+                "body", "")));
+    }
+
+    private static String contentType(ResourceType type) {
+        return switch (type) {
+            case SCRIPT -> "application/javascript";
+            case STYLESHEET -> "text/css";
+            default -> "text/plain";
+        };
+    }
+
+    private static Map<ResourceType, Long> drain(AtomicLongArray counters) {
+        Map<ResourceType, Long> drained = new EnumMap<>(ResourceType.class);
+        for (ResourceType type : ResourceType.values()) {
+            long count = counters.getAndSet(type.ordinal(), 0);
+            if (count > 0) drained.put(type, count);
+        }
+        return drained;
+    }
+
+    private static boolean matches(List<Pattern> patterns, String url) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(url).matches()) return true;
+        }
+        return false;
+    }
+
+    private static boolean isDesktopChromium(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities hasCapabilities)) return false;
+
+        Capabilities capabilities = hasCapabilities.getCapabilities();
+        String browser = capabilities.getBrowserName().toLowerCase(Locale.ROOT);
+        String platform = capabilities.getPlatformName() == null
+                ? ""
+                : capabilities.getPlatformName().toString().toLowerCase(Locale.ROOT);
+        return CHROMIUM_BROWSERS.contains(browser) && !MOBILE_PLATFORMS.contains(platform);
+    }
+
+    private static Set<ResourceType> configuredTypes() {
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        for (String name : split(R.CONFIG.get(BLOCK_TYPES_KEY))) {
+            types.add(ResourceType.valueOf(name.toUpperCase(Locale.ROOT)));
+        }
+        return types;
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) return List.of();
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static Pattern globToPattern(String glob) {
+        String regex = Arrays.stream(glob.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*"));
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+    }
+}
@@ -0,0 +1,154 @@
+package com.solvd.browser;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ContextAware;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class SessionReset {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionReset.class);
+
+    private static final String BLANK_PAGE = "about:blank";
+    private static final String ORIGIN_LANDING_PATH = "/robots.txt";
+    private static final String CLEARED_STORAGE_TYPES = "local_storage,session_storage,indexeddb,cache_storage";
+
+    private static final String CLEAR_STORAGE_SCRIPT = """
+            /* solvd:session-reset */
+            if (!/^https?:$/.test(location.protocol)) return null;
+            var remaining = 0;
+            [window.localStorage, window.sessionStorage].forEach(function (storage) {
+                try {
+                    storage.clear();
+                    remaining += storage.length;
+                } catch (e) {
+                }
+            });
+            return {origin: location.origin, remaining: remaining};
+            """;
+
+    private SessionReset() {
+    }
+
+    public record Result(boolean clean, String reason) {
+
+        static Result ok() {
+            return new Result(true, "");
+        }
+
+        static Result dirty(String reason) {
+            return new Result(false, reason);
+        }
+    }
+
+    public static String currentContext(WebDriver driver) {
+        return BrowserScripts.unwrap(driver) instanceof ContextAware contexts ? contexts.getContext() : null;
+    }
+
+    public static Result reset(WebDriver driver, String primaryWindow, String primaryContext, Collection<URI> origins) {
+        try {
+            restoreContext(driver, primaryContext);
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(primaryWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(primaryWindow);
+            driver.switchTo().defaultContent();
+            FrameContextTracker.invalidate(driver);
+
+            Optional<String> leftover = clearDocumentAndFrames(driver);
+            if (leftover.isPresent()) return Result.dirty(leftover.get());
+
+            leftover = clearOrigins(driver, origins);
+            if (leftover.isPresent()) return Result.dirty(leftover.get());
+
+            driver.get(BLANK_PAGE);
+            if (driver.getWindowHandles().size() != 1) {
+                return Result.dirty("extra windows survived the reset");
+            }
+            return Result.ok();
+        } catch (WebDriverException e) {
+            LOGGER.debug("Session reset failed", e);
+            return Result.dirty(e.getClass().getSimpleName() + ": " + firstLine(e.getMessage()));
+        }
+    }
+
+    private static void restoreContext(WebDriver driver, String primaryContext) {
+        if (primaryContext == null || !(BrowserScripts.unwrap(driver) instanceof ContextAware contexts)) return;
+
+        if (!primaryContext.equals(contexts.getContext())) {
+            LOGGER.debug("Switching pooled session back to context {}", primaryContext);
+            contexts.context(primaryContext);
+        }
+    }
+
+    private static Optional<String> clearOrigins(WebDriver driver, Collection<URI> origins) {
+        if (BrowserScripts.unwrap(driver) instanceof HasCdp cdp) {
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (URI origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                        Map.of("origin", originOf(origin), "storageTypes", CLEARED_STORAGE_TYPES));
+            }
+            return Optional.empty();
+        }
+
+        for (URI origin : origins) {
+            driver.get(origin.resolve(ORIGIN_LANDING_PATH).toString());
+            Optional<String> leftover = clearCurrentDocument(driver);
+            if (leftover.isPresent()) return leftover;
+        }
+        return Optional.empty();
+    }
+
+    private static String originOf(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    private static Optional<String> clearDocumentAndFrames(WebDriver driver) {
+        Optional<String> leftover = clearCurrentDocument(driver);
+        if (leftover.isPresent()) return leftover;
+
+        List<WebElement> frames = driver.findElements(By.tagName("iframe"));
+        for (int i = 0; i < frames.size(); i++) {
+            driver.switchTo().frame(i);
+            try {
+                leftover = clearCurrentDocument(driver);
+            } finally {
+                driver.switchTo().defaultContent();
+            }
+            if (leftover.isPresent()) return Optional.of(leftover.get() + " (frame " + i + ")");
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> clearCurrentDocument(WebDriver driver) {
+        if (!(BrowserScripts.execute(driver, CLEAR_STORAGE_SCRIPT) instanceof Map<?, ?> document)) {
+            return Optional.empty();
+        }
+        driver.manage().deleteAllCookies();
+
+        Object origin = document.get("origin");
+        if (document.get("remaining") instanceof Number n && n.longValue() > 0) {
+            return Optional.of(n.longValue() + " storage entries survived on " + origin);
+        }
+        if (!driver.manage().getCookies().isEmpty()) {
+            return Optional.of("cookies survived on " + origin);
+        }
+        return Optional.empty();
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.lines().findFirst().orElse("");
+    }
+}
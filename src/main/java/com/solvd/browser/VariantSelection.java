@@ -0,0 +1,47 @@
+package com.solvd.browser;
+
+import org.openqa.selenium.WebDriver;
+
+public final class VariantSelection {
+
+    private static final String SELECT_FIRST_AVAILABLE_SCRIPT = """
+            /* solvd:variant-selection */
+            var root = document.querySelector('form#add-to-cart-or-refresh') || document;
+            var changed = [];
+            var selects = root.querySelectorAll('.product-variants select');
+            for (var i = 0; i < selects.length; i++) {
+                var options = selects[i].options;
+                for (var j = 0; j < options.length; j++) {
+                    var value = options[j].value;
+                    if (value && value.trim() !== '' && value !== '0' && !options[j].selected) {
+                        selects[i].value = value;
+                        changed.push(selects[i]);
+                        break;
+                    }
+                }
+            }
+            var pickedGroups = {};
+            var radios = root.querySelectorAll(".product-variants input[type='radio']");
+            for (var k = 0; k < radios.length; k++) {
+                var name = radios[k].name;
+                if (!name || pickedGroups[name]) continue;
+                pickedGroups[name] = true;
+                if (!radios[k].checked) {
+                    radios[k].checked = true;
+                    changed.push(radios[k]);
+                }
+            }
+            if (changed.length > 0) {
+                changed[changed.length - 1].dispatchEvent(new Event('change', {bubbles: true}));
+            }
+            return changed.length;
+            """;
+
+    private VariantSelection() {
+    }
+
+    public static int selectFirstAvailable(WebDriver driver) {
+        Object changed = BrowserScripts.execute(driver, SELECT_FIRST_AVAILABLE_SCRIPT);
+        return changed instanceof Number n ? n.intValue() : 0;
+    }
+}
@@ -1,10 +1,14 @@
 package com.solvd.components;
 
+import com.solvd.browser.BrowserScripts;
+import com.solvd.metrics.WaitLedger;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
 import com.zebrunner.carina.webdriver.gui.AbstractUIObject;
+import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 public class CartItemComponent extends AbstractUIObject {
@@ -28,7 +32,7 @@ public class CartItemComponent extends AbstractUIObject {
     }
 
     public boolean isDisplayed() {
-        return removeButton.isElementPresent();
+        return WaitLedger.await(getDefaultWaitTimeout(), removeButton::isElementPresent);
     }
 
     public String title() {
@@ -46,6 +50,12 @@ public class CartItemComponent extends AbstractUIObject {
         removeButton.click();
     }
 
+    public void setQuantity(int quantity) {
+        WebElement input = quantityInput.getElement();
+        BrowserScripts.execute(getDriver(), "arguments[0].select();", input);
+        input.sendKeys(String.valueOf(quantity), Keys.ENTER);
+    }
+
     public int getQuantity() {
         return Integer.parseInt(quantityInput.getAttribute("value"));
     }
@@ -0,0 +1,69 @@
+package com.solvd.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class CallSites {
+
+    private static final String PAGE_PACKAGE = "com.solvd.pages.";
+    private static final String COMPONENT_PACKAGE = "com.solvd.components.";
+    private static final String OUTSIDE_PAGE_OBJECTS = "(test)";
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final Map<String, Map<String, String>> DESCRIPTIONS = new ConcurrentHashMap<>();
+
+    private CallSites() {
+    }
+
+    record CallSite(String entry, String site, int line) {
+
+        String siteWithLine() {
+            return line > 0 ? site + ":" + line : site;
+        }
+    }
+
+    static CallSite current() {
+        return WALKER.walk(frames -> {
+            StackWalker.StackFrame[] bounds = new StackWalker.StackFrame[2];
+            frames.filter(frame -> isPageObject(frame.getClassName()))
+                    .forEach(frame -> {
+                        if (bounds[1] == null) bounds[1] = frame;
+                        bounds[0] = frame;
+                    });
+            if (bounds[1] == null) return new CallSite(OUTSIDE_PAGE_OBJECTS, OUTSIDE_PAGE_OBJECTS, -1);
+
+            return new CallSite(describe(bounds[0]), describe(bounds[1]), bounds[1].getLineNumber());
+        });
+    }
+
+    private static boolean isPageObject(String className) {
+        return className.startsWith(PAGE_PACKAGE) || className.startsWith(COMPONENT_PACKAGE);
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        Map<String, String> byMethod = DESCRIPTIONS.get(frame.getClassName());
+        if (byMethod == null) {
+            byMethod = DESCRIPTIONS.computeIfAbsent(frame.getClassName(), ignored -> new ConcurrentHashMap<>());
+        }
+        String description = byMethod.get(frame.getMethodName());
+        if (description == null) {
+            description = describe(frame.getClassName(), frame.getMethodName());
+            byMethod.put(frame.getMethodName(), description);
+        }
+        return description;
+    }
+
+    private static String describe(String className, String methodName) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simpleName.indexOf('$');
+        if (nested > 0) simpleName = simpleName.substring(0, nested);
+
+        String method = methodName;
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = end < 0 ? method : method.substring("lambda$".length(), end);
+        }
+        if ("<init>".equals(method)) method = "new";
+        return simpleName + "." + method;
+    }
+}
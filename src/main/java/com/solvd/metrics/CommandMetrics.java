@@ -0,0 +1,67 @@
+package com.solvd.metrics;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class CommandMetrics {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private CommandMetrics() {
+    }
+
+    public record Key(String entry, String site, String command) {
+    }
+
+    public record Snapshot(String name, Map<Key, LatencyHistogram.Summary> commands) {
+
+        public long commandCount() {
+            return commands.values().stream().mapToLong(LatencyHistogram.Summary::count).sum();
+        }
+    }
+
+    private record Scope(String name, Map<Key, LatencyHistogram> histograms) {
+    }
+
+    public static void begin(String name) {
+        CURRENT.set(new Scope(name, new ConcurrentHashMap<>()));
+    }
+
+    public static Optional<Snapshot> current() {
+        return Optional.ofNullable(CURRENT.get()).map(CommandMetrics::snapshot);
+    }
+
+    public static Optional<Snapshot> end() {
+        Optional<Snapshot> snapshot = current();
+        CURRENT.remove();
+        return snapshot;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String command, long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope == null) return;
+
+        Key key = attribute(command);
+        scope.histograms().computeIfAbsent(key, ignored -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    private static Snapshot snapshot(Scope scope) {
+        Map<Key, LatencyHistogram.Summary> summaries = new LinkedHashMap<>();
+        scope.histograms().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Key, LatencyHistogram> e) -> e.getValue().summary().totalMicros()).reversed())
+                .forEach(e -> summaries.put(e.getKey(), e.getValue().summary()));
+        return new Snapshot(scope.name(), summaries);
+    }
+
+    private static Key attribute(String command) {
+        CallSites.CallSite callSite = CallSites.current();
+        return new Key(callSite.entry(), callSite.site(), command);
+    }
+}
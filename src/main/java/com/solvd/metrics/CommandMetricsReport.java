@@ -0,0 +1,97 @@
+package com.solvd.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+public final class CommandMetricsReport {
+
+    private static final String CSV_HEADER = "test,entry,site,command,count,total_ms,mean_us,p50_us,p90_us,p99_us,max_us";
+
+    private CommandMetricsReport() {
+    }
+
+    public static void write(Path directory, CommandMetrics.Snapshot snapshot) {
+        String fileName = snapshot.name().replaceAll("[^A-Za-z0-9._-]", "_");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(fileName + ".json"), toJson(snapshot), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve(fileName + ".csv"), toCsv(snapshot), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write command metrics for " + snapshot.name(), e);
+        }
+    }
+
+    static String toJson(CommandMetrics.Snapshot snapshot) {
+        StringBuilder json = new StringBuilder(256 + snapshot.commands().size() * 160)
+                .append("{\"test\":").append(quote(snapshot.name())).append(",\"commands\":[");
+
+        boolean first = true;
+        for (Map.Entry<CommandMetrics.Key, LatencyHistogram.Summary> row : snapshot.commands().entrySet()) {
+            CommandMetrics.Key key = row.getKey();
+            LatencyHistogram.Summary summary = row.getValue();
+            if (!first) json.append(',');
+            first = false;
+            json.append("\n{\"entry\":").append(quote(key.entry()))
+                    .append(",\"site\":").append(quote(key.site()))
+                    .append(",\"command\":").append(quote(key.command()))
+                    .append(",\"count\":").append(summary.count())
+                    .append(",\"totalMicros\":").append(summary.totalMicros())
+                    .append(",\"meanMicros\":").append(summary.meanMicros())
+                    .append(",\"p50Micros\":").append(summary.p50Micros())
+                    .append(",\"p90Micros\":").append(summary.p90Micros())
+                    .append(",\"p99Micros\":").append(summary.p99Micros())
+                    .append(",\"maxMicros\":").append(summary.maxMicros())
+                    .append('}');
+        }
+        return json.append("\n]}\n").toString();
+    }
+
+    static String toCsv(CommandMetrics.Snapshot snapshot) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (Map.Entry<CommandMetrics.Key, LatencyHistogram.Summary> row : snapshot.commands().entrySet()) {
+            CommandMetrics.Key key = row.getKey();
+            LatencyHistogram.Summary summary = row.getValue();
+            csv.append(csvField(snapshot.name())).append(',')
+                    .append(csvField(key.entry())).append(',')
+                    .append(csvField(key.site())).append(',')
+                    .append(csvField(key.command())).append(',')
+                    .append(summary.count()).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f", summary.totalMicros() / 1000.0)).append(',')
+                    .append(summary.meanMicros()).append(',')
+                    .append(summary.p50Micros()).append(',')
+                    .append(summary.p90Micros()).append(',')
+                    .append(summary.p99Micros()).append(',')
+                    .append(summary.maxMicros()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) quoted.append(String.format("\\u%04x", (int) c));
+                    else quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,96 @@
+package com.solvd.metrics;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final String SCRIPT_MARKER_PREFIX = "/* solvd:";
+
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement", "getCapabilities",
+            "getSessionId", "manage", "switchTo", "navigate", "timeouts", "window"
+    );
+
+    private static final ThreadLocal<Wrapping> DECORATED = new ThreadLocal<>();
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private record Wrapping(WebDriver original, WebDriver decorated) {
+    }
+
+    public static WebDriver decorate(WebDriver driver) {
+        Wrapping wrapping = DECORATED.get();
+        if (wrapping == null || wrapping.original() != driver) {
+            wrapping = new Wrapping(driver, new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver));
+            DECORATED.set(wrapping);
+        }
+        return wrapping.decorated();
+    }
+
+    public static void release() {
+        DECORATED.remove();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method)) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, args);
+    }
+
+    private void finish(Object target, Method method, Object[] args) {
+        if (!isCommand(method)) return;
+
+        Long start = starts.get().poll();
+        if (start != null) {
+            CommandMetrics.record(commandName(target, method, args), System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isCommand(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    private static String commandName(Object target, Method method, Object[] args) {
+        String name = targetType(target) + "." + method.getName();
+        if (args != null && args.length > 0 && args[0] instanceof String script && script.startsWith(SCRIPT_MARKER_PREFIX)) {
+            int end = script.indexOf("*/");
+            if (end > 0) {
+                name += "[" + script.substring(SCRIPT_MARKER_PREFIX.length(), end).trim() + "]";
+            }
+        }
+        return name;
+    }
+
+    private static String targetType(Object target) {
+        if (target instanceof WebElement) return "WebElement";
+        if (target instanceof WebDriver) return "WebDriver";
+        if (target instanceof WebDriver.TargetLocator) return "TargetLocator";
+        if (target instanceof WebDriver.Navigation) return "Navigation";
+        if (target instanceof WebDriver.Options) return "Options";
+        if (target instanceof WebDriver.Timeouts) return "Timeouts";
+        if (target instanceof WebDriver.Window) return "Window";
+        if (target instanceof Alert) return "Alert";
+        return target.getClass().getSimpleName();
+    }
+}
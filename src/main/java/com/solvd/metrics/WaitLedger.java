@@ -0,0 +1,115 @@
+package com.solvd.metrics;
+
+import com.zebrunner.carina.utils.R;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+public final class WaitLedger {
+
+    private static final String ENABLED_KEY = "wait_ledger";
+
+    private static final Map<Key, Tally> TALLIES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private WaitLedger() {
+    }
+
+    public record Key(String site, String entry) {
+    }
+
+    public record Row(Key key, long budgetMillis, long waits, long timedOut, long lostMicros,
+                      LatencyHistogram.Summary satisfied) {
+    }
+
+    private static final class Tally {
+        private final LatencyHistogram satisfied = new LatencyHistogram();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder lostMicros = new LongAdder();
+        private final AtomicLong budgetMillis = new AtomicLong();
+
+        private Row toRow(Key key) {
+            LatencyHistogram.Summary satisfiedSummary = satisfied.summary();
+            long timeouts = timedOut.sum();
+            return new Row(key, budgetMillis.get(), satisfiedSummary.count() + timeouts, timeouts,
+                    lostMicros.sum(), satisfiedSummary);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(R.CONFIG.get(ENABLED_KEY));
+    }
+
+    public static boolean await(long timeoutSec, BooleanSupplier wait) {
+        return await(Duration.ofSeconds(timeoutSec), wait);
+    }
+
+    public static boolean await(Duration budget, BooleanSupplier wait) {
+        final boolean[] satisfied = new boolean[1];
+        track(budget, () -> {
+            satisfied[0] = wait.getAsBoolean();
+            return satisfied[0];
+        });
+        return satisfied[0];
+    }
+
+    public static <T> Optional<T> awaitResult(Duration budget, Supplier<Optional<T>> wait) {
+        final Object[] result = new Object[1];
+        track(budget, () -> {
+            Optional<T> outcome = wait.get();
+            result[0] = outcome;
+            return outcome.isPresent();
+        });
+        @SuppressWarnings("unchecked")
+        Optional<T> outcome = (Optional<T>) result[0];
+        return outcome;
+    }
+
+    public static List<Row> rows() {
+        return TALLIES.entrySet().stream()
+                .map(e -> e.getValue().toRow(e.getKey()))
+                .sorted(Comparator.comparingLong(Row::lostMicros).reversed()
+                        .thenComparing(Comparator.comparingLong(Row::waits).reversed()))
+                .toList();
+    }
+
+    public static void reset() {
+        TALLIES.clear();
+    }
+
+    private static void track(Duration budget, BooleanSupplier wait) {
+        int[] depth = DEPTH.get();
+        boolean outermost = depth[0]++ == 0;
+        long start = System.nanoTime();
+        boolean satisfied;
+        try {
+            satisfied = wait.getAsBoolean();
+        } finally {
+            depth[0]--;
+        }
+
+        if (outermost && budget.compareTo(Duration.ZERO) > 0 && isEnabled()) {
+            record(budget, System.nanoTime() - start, satisfied);
+        }
+    }
+
+    private static void record(Duration budget, long elapsedNanos, boolean satisfied) {
+        CallSites.CallSite callSite = CallSites.current();
+        Tally tally = TALLIES.computeIfAbsent(new Key(callSite.siteWithLine(), callSite.entry()), ignored -> new Tally());
+        tally.budgetMillis.accumulateAndGet(budget.toMillis(), Math::max);
+        if (satisfied) {
+            tally.satisfied.recordNanos(elapsedNanos);
+        } else {
+            tally.timedOut.increment();
+            tally.lostMicros.add(elapsedNanos / 1_000);
+        }
+    }
+}
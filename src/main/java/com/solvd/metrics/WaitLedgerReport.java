@@ -0,0 +1,70 @@
+package com.solvd.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+public final class WaitLedgerReport {
+
+    private static final String CSV_HEADER =
+            "site,entry,budget_ms,waits,timed_out,lost_ms,satisfied_p50_ms,satisfied_p99_ms,satisfied_max_ms";
+
+    private WaitLedgerReport() {
+    }
+
+    public static void write(Path file, List<WaitLedger.Row> rows) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Files.writeString(file, toCsv(rows), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write wait ledger to " + file, e);
+        }
+    }
+
+    public static String summarize(List<WaitLedger.Row> rows, int limit) {
+        long lostMicros = rows.stream().mapToLong(WaitLedger.Row::lostMicros).sum();
+        long timedOut = rows.stream().mapToLong(WaitLedger.Row::timedOut).sum();
+        long waits = rows.stream().mapToLong(WaitLedger.Row::waits).sum();
+
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%d waits, %d timed out, %s ms lost to timeouts", waits, timedOut, millis(lostMicros)));
+        rows.stream()
+                .filter(row -> row.lostMicros() > 0)
+                .limit(limit)
+                .forEach(row -> summary.append(String.format(Locale.ROOT,
+                        "%n  %10s ms  %3d/%-3d timed out (budget %d ms)  %s via %s",
+                        millis(row.lostMicros()), row.timedOut(), row.waits(), row.budgetMillis(),
+                        row.key().site(), row.key().entry())));
+        return summary.toString();
+    }
+
+    static String toCsv(List<WaitLedger.Row> rows) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (WaitLedger.Row row : rows) {
+            csv.append(csvField(row.key().site())).append(',')
+                    .append(csvField(row.key().entry())).append(',')
+                    .append(row.budgetMillis()).append(',')
+                    .append(row.waits()).append(',')
+                    .append(row.timedOut()).append(',')
+                    .append(millis(row.lostMicros())).append(',')
+                    .append(millis(row.satisfied().p50Micros())).append(',')
+                    .append(millis(row.satisfied().p99Micros())).append(',')
+                    .append(millis(row.satisfied().maxMicros())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
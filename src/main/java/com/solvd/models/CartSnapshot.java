@@ -0,0 +1,14 @@
+package com.solvd.models;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CartSnapshot(List<Line> lines, BigDecimal subtotal, BigDecimal total, int itemCount, boolean empty) {
+
+    public CartSnapshot {
+        lines = List.copyOf(lines);
+    }
+
+    public record Line(String title, int quantity, BigDecimal unitPrice, BigDecimal lineTotal) {
+    }
+}
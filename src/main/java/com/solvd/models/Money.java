@@ -0,0 +1,9 @@
+package com.solvd.models;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+public record Money(BigDecimal amount, Currency currency) {
+
+    public static final Money ZERO = new Money(BigDecimal.ZERO, null);
+}
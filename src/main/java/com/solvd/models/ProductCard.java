@@ -0,0 +1,6 @@
+package com.solvd.models;
+
+import java.math.BigDecimal;
+
+public record ProductCard(String title, String url, BigDecimal price, boolean visible) {
+}
@@ -1,9 +1,14 @@
 package com.solvd.pages.common;
 
-import com.solvd.utils.TimeConstants;
+import com.solvd.browser.FrameContextTracker;
+import com.solvd.browser.FrameContextTracker.FrameLocation;
+import com.solvd.browser.NetworkQuiescence;
+import com.solvd.metrics.WaitLedger;
+import com.solvd.utils.AdaptiveTimeouts;
 import com.zebrunner.carina.utils.config.Configuration;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
 import com.zebrunner.carina.webdriver.gui.AbstractPage;
+import org.openqa.selenium.By;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
@@ -11,12 +16,15 @@ import org.openqa.selenium.support.FindBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public abstract class BasePage extends AbstractPage {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BasePage.class);
-    private boolean frontOfficeIframeEnsured = false;
 
-    @FindBy(css = "iframe#framelive, iframe.framelive, iframe[name='framelive']")
+    public static final String FRONT_OFFICE_IFRAME_CSS = "iframe#framelive, iframe.framelive, iframe[name='framelive']";
+
+    @FindBy(css = FRONT_OFFICE_IFRAME_CSS)
     private ExtendedWebElement frontOfficeIframe;
 
     public BasePage(WebDriver driver) {
@@ -25,18 +33,28 @@ public abstract class BasePage extends AbstractPage {
 
     protected void ensureFrontOfficeIframe(ExtendedWebElement probeElement) {
         WebDriver driver = getDriver();
+        FrameContextTracker.invalidate(driver);
         openBaseUrlIfNeeded(driver);
         driver.switchTo().defaultContent();
 
         long timeout = getDefaultWaitTimeout().getSeconds();
+        final FrameLocation[] located = new FrameLocation[1];
 
-        waitUntil(d -> {
-            if (isAnyElementDisplayed(probeElement)) return true;
+        WaitLedger.await(timeout, () -> waitUntil(d -> {
+            if (isAnyElementDisplayed(probeElement)) {
+                located[0] = FrameLocation.TOP_LEVEL;
+                return true;
+            }
 
             if (frontOfficeIframe.isPresent()) {
                 try {
                     d.switchTo().frame(frontOfficeIframe.getElement());
-                    return isAnyElementDisplayed(probeElement);
+                    if (isAnyElementDisplayed(probeElement)) {
+                        located[0] = FrameLocation.FRONT_OFFICE_IFRAME;
+                        return true;
+                    }
+                    d.switchTo().defaultContent();
+                    return false;
                 } catch (StaleElementReferenceException e) {
                     d.switchTo().defaultContent();
                     return false;
@@ -44,7 +62,11 @@ public abstract class BasePage extends AbstractPage {
             }
 
             return false;
-        }, timeout);
+        }, timeout));
+
+        if (located[0] != null) {
+            FrameContextTracker.record(driver, located[0]);
+        }
     }
 
     private void openBaseUrlIfNeeded(WebDriver driver) {
@@ -71,12 +93,41 @@ public abstract class BasePage extends AbstractPage {
         return false;
     }
 
+    protected boolean isElementPresentNow(ExtendedWebElement element) {
+        return !getDriver().findElements(element.getBy()).isEmpty();
+    }
+
+    protected boolean awaitElementPresence(ExtendedWebElement element) {
+        if (isElementPresentNow(element)) return true;
+
+        WebDriver driver = getDriver();
+        if (NetworkQuiescence.isSettled(driver)) return false;
+
+        By by = element.getBy();
+        String locatorKey = by.toString();
+        long start = System.nanoTime();
+
+        Duration timeout = AdaptiveTimeouts.timeoutFor(locatorKey);
+        boolean appeared = WaitLedger.await(timeout, () -> waitUntil(d -> !d.findElements(by).isEmpty(), timeout));
+        if (!appeared) {
+            Duration remaining = AdaptiveTimeouts.maxTimeout().minusNanos(System.nanoTime() - start);
+            if (!remaining.isNegative()) {
+                NetworkQuiescence.awaitIdle(driver, remaining);
+            }
+            appeared = isElementPresentNow(element);
+        }
+
+        if (appeared) {
+            AdaptiveTimeouts.recordAppearance(locatorKey, Duration.ofNanos(System.nanoTime() - start));
+        }
+        return appeared;
+    }
+
     protected final void ensureFrontOfficeIframeOnce(ExtendedWebElement probeElement) {
-        if (frontOfficeIframeEnsured && probeElement != null && probeElement.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC)) {
+        if (FrameContextTracker.isCurrent(getDriver())) {
             return;
         }
 
         ensureFrontOfficeIframe(probeElement);
-        frontOfficeIframeEnsured = true;
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,11 @@
 package com.solvd.pages.common;
 
+import com.solvd.browser.ComponentListCache;
+import com.solvd.browser.DomSnapshots;
+import com.solvd.browser.NetworkQuiescence;
 import com.solvd.components.CartItemComponent;
-import com.solvd.utils.ParseUtils;
-import com.solvd.utils.TimeConstants;
+import com.solvd.metrics.WaitLedger;
+import com.solvd.models.CartSnapshot;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
@@ -10,58 +13,57 @@ import org.openqa.selenium.support.FindBy;
 
 import java.math.BigDecimal;
 import java.util.List;
-
-import static com.solvd.utils.ParseUtils.parseIntegerFromText;
+import java.util.function.IntPredicate;
 
 public abstract class CartPageBase extends BasePage {
 
-    private static final String ATTRIBUTE_TEXT_CONTENT = "textContent";
+    private static final String CART_ITEMS_CONTAINER_CSS = "#main .cart-items";
 
     @FindBy(id = "main")
     private ExtendedWebElement pageRoot;
 
-    @FindBy(css = "#main .cart-items .cart-item")
+    @FindBy(css = CART_ITEMS_CONTAINER_CSS + " .cart-item")
     private List<CartItemComponent> cartItems;
 
-    @FindBy(css = "#cart-subtotal-products .value, .cart-summary-line.cart-subtotal .value, .cart-subtotal .value")
-    private ExtendedWebElement subtotal;
-
-    @FindBy(css = ".cart-total .value")
-    private ExtendedWebElement total;
+    private final ComponentListCache<CartItemComponent> cartLines;
 
-    @FindBy(css = "#main .no-items")
-    private ExtendedWebElement emptyCartMessage;
-
-    @FindBy(css = ".cart-products-count")
-    private ExtendedWebElement cartCount;
+    private CartSnapshot snapshot;
 
     public CartPageBase(WebDriver driver) {
         super(driver);
         setUiLoadedMarker(pageRoot);
+        cartLines = new ComponentListCache<>(driver, CART_ITEMS_CONTAINER_CSS, () -> cartItems);
     }
 
     @Override
     public boolean isPageOpened() {
         ensureFrontOfficeIframeOnce(pageRoot);
-        return pageRoot.isElementPresent();
+        return WaitLedger.await(getDefaultWaitTimeout(), pageRoot::isElementPresent);
+    }
+
+    public CartSnapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot = DomSnapshots.cart(getDriver(), getDefaultWaitTimeout());
+        }
+        return snapshot;
     }
 
     public int getQuantity() {
-        if (isEmptyCartMessageDisplayed()) return 0;
+        CartSnapshot cart = getSnapshot();
+        if (cart.empty()) return 0;
 
-        CartItemComponent item = getFirstCartItem();
-        if (item == null) {
+        if (cart.lines().isEmpty()) {
             throw new IllegalStateException("Cart item not found, but cart is not empty");
         }
-        return item.getQuantity();
+        return cart.lines().get(0).quantity();
     }
 
     public BigDecimal getProductsSubtotal() {
-        return parseMoney(subtotal);
+        return getSnapshot().subtotal();
     }
 
     public BigDecimal getTotal() {
-        return parseMoney(total);
+        return getSnapshot().total();
     }
 
     public void increaseQuantityTo(int targetQuantity) {
@@ -70,6 +72,7 @@ public abstract class CartPageBase extends BasePage {
             throw new NoSuchElementException("Cart item not found");
         }
 
+        invalidateSnapshot();
         int currentQuantity = item.getQuantity();
 
         int attempts = 0;
@@ -78,16 +81,15 @@ public abstract class CartPageBase extends BasePage {
         while (currentQuantity < targetQuantity && attempts < maxAttempts) {
             int before = currentQuantity;
 
-            item.increaseQuantity();
+            boolean cartUpdated = NetworkQuiescence.runAndAwait(getDriver(), item::increaseQuantity,
+                    getDefaultWaitTimeout()).requestCompleted();
 
-            final CartItemComponent[] refreshedHolder = new CartItemComponent[1];
-            waitUntil(d -> {
-                CartItemComponent refreshed = getFirstCartItem();
-                refreshedHolder[0] = refreshed;
-                return refreshed != null && refreshed.getQuantity() > before;
-            }, getDefaultWaitTimeout());
+            if (cartUpdated) {
+                item = getFirstCartItem();
+            } else {
+                item = waitForFirstLine(quantity -> quantity > before);
+            }
 
-            item = refreshedHolder[0];
             if (item == null) {
                 throw new NoSuchElementException("Cart item not found");
             }
@@ -102,55 +104,86 @@ public abstract class CartPageBase extends BasePage {
         }
     }
 
+    public void setQuantity(int targetQuantity) {
+        if (targetQuantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive: " + targetQuantity);
+        }
+
+        CartItemComponent item = getFirstCartItem();
+        if (item == null) {
+            throw new NoSuchElementException("Cart item not found");
+        }
+
+        if (item.getQuantity() == targetQuantity) return;
+
+        invalidateSnapshot();
+        boolean cartUpdated = NetworkQuiescence.runAndAwait(getDriver(), () -> item.setQuantity(targetQuantity),
+                getDefaultWaitTimeout()).requestCompleted();
+
+        CartItemComponent refreshed = cartUpdated
+                ? getFirstCartItem()
+                : waitForFirstLine(quantity -> quantity == targetQuantity);
+        if (refreshed == null || refreshed.getQuantity() != targetQuantity) {
+            throw new IllegalStateException("Unable to set quantity to " + targetQuantity);
+        }
+    }
+
     public int getCartLinesCount() {
-        if (isEmptyCartMessageDisplayed()) return 0;
-        return (int) cartItems.stream().filter(CartItemComponent::isDisplayed).count();
+        CartSnapshot cart = getSnapshot();
+        return cart.empty() ? 0 : cart.lines().size();
     }
 
     public void removeFirstLine() {
         if (isEmptyCartMessageDisplayed()) return;
 
-        if (cartItems.isEmpty() || !cartItems.get(0).isDisplayed()) {
+        List<CartItemComponent> lines = cartLines.get();
+        if (lines.isEmpty() || !lines.get(0).isDisplayed()) {
             throw new NoSuchElementException("Cart item not found");
         }
 
-        int before = cartItems.size();
+        int before = getCartLinesCount();
+        CartItemComponent first = lines.get(0);
 
-        cartItems.get(0).click();
+        invalidateSnapshot();
+        NetworkQuiescence.runAndAwait(getDriver(), first::clickRemoveButton, getDefaultWaitTimeout());
 
-        waitUntil(d -> isEmptyCartMessageDisplayed() || cartItems.size() < before,
-                getDefaultWaitTimeout());
+        WaitLedger.await(getDefaultWaitTimeout(), () -> waitUntil(d -> {
+            CartSnapshot cart = refreshSnapshot();
+            return cart.empty() || cart.lines().size() < before;
+        }, getDefaultWaitTimeout()));
     }
 
     public boolean isEmptyCartMessageDisplayed() {
-        return emptyCartMessage.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC);
+        return getSnapshot().empty();
     }
 
     public int getCartItemsCount() {
-        if (!cartCount.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC)) return 0;
-        return parseIntegerFromText(cartCount.getText());
-    }
-
-    private boolean isMoneyValuePresent(ExtendedWebElement element) {
-        if (!element.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC)) return false;
-        String text = element.getAttribute(ATTRIBUTE_TEXT_CONTENT);
-        if (text == null) return false;
-
-        text = text.trim();
-        return !text.isEmpty() && text.chars().anyMatch(Character::isDigit);
+        return getSnapshot().itemCount();
     }
 
     private CartItemComponent getFirstCartItem() {
-        return cartItems.stream()
-                .filter(e -> e.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC))
+        return cartLines.get().stream()
                 .findFirst()
                 .orElse(null);
     }
 
-    private BigDecimal parseMoney(ExtendedWebElement element) {
-        waitUntil(d -> isMoneyValuePresent(element), getDefaultWaitTimeout());
-        return ParseUtils.parseMoney(
-                element.getAttribute(ATTRIBUTE_TEXT_CONTENT)
-        );
+    private CartItemComponent waitForFirstLine(IntPredicate quantity) {
+        final CartItemComponent[] refreshedHolder = new CartItemComponent[1];
+        WaitLedger.await(getDefaultWaitTimeout(), () -> waitUntil(d -> {
+            CartItemComponent refreshed = getFirstCartItem();
+            refreshedHolder[0] = refreshed;
+            return refreshed != null && quantity.test(refreshed.getQuantity());
+        }, getDefaultWaitTimeout()));
+        return refreshedHolder[0];
+    }
+
+    private CartSnapshot refreshSnapshot() {
+        invalidateSnapshot();
+        return getSnapshot();
+    }
+
+    private void invalidateSnapshot() {
+        snapshot = null;
+        cartLines.invalidate();
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.solvd.pages.common;
 
+import com.solvd.browser.FrameContextTracker;
 import com.zebrunner.carina.utils.config.Configuration;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
 import org.openqa.selenium.JavascriptExecutor;
@@ -59,6 +60,7 @@ public abstract class HomePageBase extends BasePage {
 
         WebDriver driver = getDriver();
         driver.switchTo().defaultContent();
+        FrameContextTracker.invalidate(driver);
 
         if (!(driver instanceof JavascriptExecutor js)) {
             throw new IllegalStateException("Driver does not support JavaScript execution: " + driver.getClass());
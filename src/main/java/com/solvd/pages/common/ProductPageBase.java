@@ -1,29 +1,33 @@
 package com.solvd.pages.common;
 
+import com.solvd.browser.DomChangeWatcher;
+import com.solvd.browser.NetworkQuiescence;
+import com.solvd.browser.VariantSelection;
+import com.solvd.metrics.WaitLedger;
 import com.solvd.utils.TimeConstants;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.FindBy;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.time.Duration;
 
 import static com.solvd.utils.ParseUtils.parseCount;
 
 public abstract class ProductPageBase extends BasePage {
 
+    private static final String BLOCKCART_MODAL_CSS = "#blockcart-modal";
+    private static final String MODAL_PRODUCT_NAME_CSS = BLOCKCART_MODAL_CSS + " .product-name";
+    private static final int CART_COUNT_CHANGE_TIMEOUT_SEC = 5;
+    private static final String CSS_SELECTOR = "css selector";
+
     @FindBy(css = "#main h1")
     private ExtendedWebElement productTitle;
 
     @FindBy(css = "form#add-to-cart-or-refresh button[data-button-action='add-to-cart']")
     private ExtendedWebElement addToCartButton;
 
-    @FindBy(css = ".product-variants select")
-    private List<ExtendedWebElement> variantSelects;
-
-    @FindBy(css = "#blockcart-modal .product-name")
+    @FindBy(css = MODAL_PRODUCT_NAME_CSS)
     private ExtendedWebElement modalProductName;
 
     @FindBy(css = "#blockcart-modal a.btn.btn-primary")
@@ -32,12 +36,6 @@ public abstract class ProductPageBase extends BasePage {
     @FindBy(css = "#blockcart-modal .cart-content p.cart-products-count")
     private ExtendedWebElement modalCartItemsLine;
 
-    @FindBy(css = ".product-variants input[type='radio']")
-    private List<ExtendedWebElement> variantRadios;
-
-    @FindBy(css = "#blockcart-modal")
-    private ExtendedWebElement blockcartModal;
-
     public ProductPageBase(WebDriver driver) {
         super(driver);
         ensureFrontOfficeIframeOnce(productTitle);
@@ -49,12 +47,16 @@ public abstract class ProductPageBase extends BasePage {
     }
 
     public boolean isAddToCartButtonPresent() {
-        return addToCartButton.isElementPresent();
+        return WaitLedger.await(getDefaultWaitTimeout(), addToCartButton::isElementPresent);
     }
 
     public void selectRequiredOptionsIfPresent() {
-        selectFirstAvailableOptions(variantSelects, "option");
-        selectOneRadioPerGroup(variantRadios);
+        WebDriver driver = getDriver();
+        long baseline = NetworkQuiescence.install(driver);
+
+        if (VariantSelection.selectFirstAvailable(driver) > 0) {
+            NetworkQuiescence.awaitRequestsSince(driver, baseline, getDefaultWaitTimeout());
+        }
     }
 
     public void addProductToCart() {
@@ -66,28 +68,28 @@ public abstract class ProductPageBase extends BasePage {
     }
 
     public boolean isAddToCartModalDisplayed() {
-        return blockcartModal.isElementPresent();
+        return DomChangeWatcher.awaitElement(getDriver(), BLOCKCART_MODAL_CSS, getDefaultWaitTimeout());
     }
 
     public String getModalProductName() {
-        modalProductName.waitUntil(driver ->
-                        modalProductName.isElementPresent(),
-                TimeConstants.SHORT_TIMEOUT_SEC);
+        DomChangeWatcher.awaitElement(getDriver(), MODAL_PRODUCT_NAME_CSS,
+                Duration.ofSeconds(TimeConstants.SHORT_TIMEOUT_SEC));
 
         return modalProductName.getText().trim();
     }
 
     public int getCartCount() {
         ExtendedWebElement el = getCartCountElement();
-        if (el == null || !el.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC)) {
+        if (el == null || !awaitElementPresence(el)) {
             return 0;
         }
         return parseCount(el.getText());
     }
 
     public int waitForCartCountToBeIncremented(int initialCount) {
-        waitUntil(d -> getCartCount() > initialCount, 5);
-        return getCartCount();
+        return DomChangeWatcher.awaitCountAbove(getDriver(), getCartCountSelector(), initialCount,
+                        Duration.ofSeconds(CART_COUNT_CHANGE_TIMEOUT_SEC))
+                .orElseGet(this::getCartCount);
     }
 
     public CartPageBase openCartFromModal() {
@@ -97,35 +99,11 @@ public abstract class ProductPageBase extends BasePage {
 
     protected abstract ExtendedWebElement getCartCountElement();
 
-    private void selectFirstAvailableOptions(List<ExtendedWebElement> selects, String tagName) {
-        for (ExtendedWebElement select : selects) {
-
-            select.findExtendedWebElements(By.tagName(tagName))
-                    .stream()
-                    .filter(option -> {
-                        String value = option.getAttribute("value");
-                        return value != null &&
-                                !value.isBlank() &&
-                                !"0".equals(value) &&
-                                !option.isSelected();
-                    })
-                    .findFirst()
-                    .ifPresent(ExtendedWebElement::click);
-        }
-    }
-
-    private void selectOneRadioPerGroup(List<ExtendedWebElement> radios) {
-        Set<String> pickedNames = new HashSet<>();
-
-        for (ExtendedWebElement radio : radios) {
-            if (!radio.isElementPresent()) continue;
-
-            String name = radio.getAttribute("name");
-            if (name == null || name.isBlank() || !pickedNames.add(name)) continue;
-
-            if (!radio.isSelected()) {
-                radio.click();
-            }
+    private String getCartCountSelector() {
+        By by = getCartCountElement().getBy();
+        if (by instanceof By.Remotable remotable && CSS_SELECTOR.equals(remotable.getRemoteParameters().using())) {
+            return String.valueOf(remotable.getRemoteParameters().value());
         }
+        throw new IllegalStateException("Cart count locator must be a CSS selector to be watched in the page: " + by);
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,40 @@
 package com.solvd.pages.common;
 
+import com.solvd.browser.DomSnapshots;
+import com.solvd.browser.NetworkQuiescence;
+import com.solvd.browser.ReadinessProbe;
+import com.solvd.browser.ReadinessProbe.Outcome;
+import com.solvd.metrics.WaitLedger;
+import com.solvd.models.ProductCard;
+import com.solvd.utils.AdaptiveTimeouts;
 import com.solvd.utils.TimeConstants;
 import com.zebrunner.carina.webdriver.decorator.ExtendedWebElement;
+import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 public abstract class SearchResultsPageBase extends BasePage {
 
-    @FindBy(id = "content")
-    private ExtendedWebElement content;
-
-    @FindBy(css = "#js-product-list")
-    private ExtendedWebElement productList;
+    private static final String PRODUCT_CARD_CSS = "#js-product-list .product-miniature";
+    private static final String PRODUCT_TITLE_LINK_CSS = ".product-title a";
 
-    @FindBy(css = "#js-product-list .product-miniature")
-    private List<ExtendedWebElement> productCards;
+    private static final Outcome PRODUCT_LIST = new Outcome("productList", PRODUCT_CARD_CSS);
+    private static final Outcome NO_MATCHES = new Outcome("noMatches", "#product-search-no-matches");
+    private static final Outcome PAGE_NOT_FOUND = new Outcome("pageNotFound", "#content.page-content.page-not-found");
 
-    @FindBy(css = "#js-product-list .product-title a")
-    private List<ExtendedWebElement> productTitles;
+    private static final ReadinessProbe READINESS = ReadinessProbe.of(NO_MATCHES, PAGE_NOT_FOUND, PRODUCT_LIST);
+    private static final String OUTCOME_LOCATOR_KEY = SearchResultsPageBase.class.getSimpleName() + ".outcome";
 
-    @FindBy(id = "product-search-no-matches")
-    private List<ExtendedWebElement> noMatchesHeader;
-
-    @FindBy(css = "#content.page-content.page-not-found")
-    private List<ExtendedWebElement> pageNotFoundSection;
+    @FindBy(id = "content")
+    private ExtendedWebElement content;
 
     public SearchResultsPageBase(WebDriver driver) {
         super(driver);
@@ -38,72 +44,90 @@ public abstract class SearchResultsPageBase extends BasePage {
     @Override
     public boolean isPageOpened() {
         ensureFrontOfficeIframeOnce(content);
-        int timeoutSec = TimeConstants.SHORT_TIMEOUT_SEC;
-
-        return (productList != null && productList.isElementPresent(timeoutSec))
-                || noMatchesHeader.stream().anyMatch(e -> e.isElementPresent(timeoutSec))
-                || pageNotFoundSection.stream().anyMatch(e -> e.isElementPresent(timeoutSec));
+        return awaitOutcome(Duration.ofSeconds(TimeConstants.SHORT_TIMEOUT_SEC)).isPresent();
     }
 
     public boolean hasAnyProductTitleContaining(String keyword) {
         String k = keyword.toLowerCase(Locale.ROOT);
 
-        return productTitles.stream()
-                .map(ExtendedWebElement::getText)
+        return getProductCards().stream()
+                .map(ProductCard::title)
                 .map(t -> t.toLowerCase(Locale.ROOT))
                 .anyMatch(t -> t.contains(k));
     }
 
     public boolean isNoMatchesMessageDisplayed() {
-        return noMatchesHeader.stream().anyMatch(e -> e.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC))
-                || pageNotFoundSection.stream().anyMatch(e -> e.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC));
+        WebDriver driver = getDriver();
+        Optional<Outcome> outcome = READINESS.check(driver);
+
+        if (outcome.isEmpty() && !NetworkQuiescence.isSettled(driver)) {
+            long start = System.nanoTime();
+            outcome = awaitOutcome(AdaptiveTimeouts.timeoutFor(OUTCOME_LOCATOR_KEY));
+            outcome.ifPresent(o -> AdaptiveTimeouts.recordAppearance(OUTCOME_LOCATOR_KEY,
+                    Duration.ofNanos(System.nanoTime() - start)));
+        }
+
+        return outcome.filter(o -> !PRODUCT_LIST.equals(o)).isPresent();
     }
 
     public int getVisibleProductCardCount() {
-        final int shortTimeout = TimeConstants.SHORT_TIMEOUT_SEC;
-
         if (isNoMatchesMessageDisplayed()) {
             return 0;
         }
 
-        try {
-            waitUntil(driver -> productCards.stream()
-                            .anyMatch(e -> e.isElementPresent(shortTimeout)),
-                    shortTimeout);
-
-            return (int) productCards.stream()
-                    .filter(e -> e.isElementPresent(shortTimeout))
-                    .count();
-
-        } catch (StaleElementReferenceException e) {
+        List<ProductCard> visible = new ArrayList<>();
+        WaitLedger.await(TimeConstants.SHORT_TIMEOUT_SEC, () -> waitUntil(driver -> {
+            visible.clear();
+            visible.addAll(getVisibleProductCards());
+            return !visible.isEmpty();
+        }, TimeConstants.SHORT_TIMEOUT_SEC));
 
-            return 0;
-        }
+        return visible.size();
     }
 
     public ProductPageBase openFirstVisibleProduct() {
-        ExtendedWebElement first = findFirstVisibleProductTitle();
-        first.click();
+        List<ProductCard> cards = getProductCards();
+        int index = firstVisibleTitledCard(cards);
+
+        List<WebElement> cardElements = getDriver().findElements(By.cssSelector(PRODUCT_CARD_CSS));
+        if (index >= cardElements.size()) {
+            throw new NoSuchElementException("Product card " + index + " disappeared: " + cards.get(index).title());
+        }
+        cardElements.get(index).findElement(By.cssSelector(PRODUCT_TITLE_LINK_CSS)).click();
         return initPage(getDriver(), ProductPageBase.class);
     }
 
     public String getFirstVisibleProductTitle() {
-        return findFirstVisibleProductTitle().getText().trim();
+        List<ProductCard> cards = getProductCards();
+        return cards.get(firstVisibleTitledCard(cards)).title();
     }
 
     public List<String> getVisibleProductTitles() {
-        return productTitles.stream()
-                .filter(e -> e != null && e.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC))
-                .map(ExtendedWebElement::getText)
-                .map(String::trim)
+        return getVisibleProductCards().stream()
+                .map(ProductCard::title)
                 .filter(s -> !s.isBlank())
                 .toList();
     }
 
-    private ExtendedWebElement findFirstVisibleProductTitle() {
-        return productTitles.stream()
-                .filter(e -> e != null && e.isElementPresent(TimeConstants.SHORT_TIMEOUT_SEC))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("No visible product titles found"));
+    public List<ProductCard> getProductCards() {
+        return DomSnapshots.productCards(getDriver());
+    }
+
+    private List<ProductCard> getVisibleProductCards() {
+        return getProductCards().stream()
+                .filter(ProductCard::visible)
+                .toList();
+    }
+
+    private Optional<Outcome> awaitOutcome(Duration timeout) {
+        return READINESS.await(getDriver(), timeout);
+    }
+
+    private static int firstVisibleTitledCard(List<ProductCard> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            ProductCard card = cards.get(i);
+            if (card.visible() && !card.title().isBlank()) return i;
+        }
+        throw new NoSuchElementException("No visible product titles found");
     }
 }
\ No newline at end of file
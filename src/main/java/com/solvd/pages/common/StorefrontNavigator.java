@@ -0,0 +1,131 @@
+package com.solvd.pages.common;
+
+import com.solvd.browser.FrameContextTracker;
+import com.solvd.browser.FrontOfficeUrls;
+import com.zebrunner.carina.utils.R;
+import com.zebrunner.carina.utils.config.Configuration;
+import com.zebrunner.carina.webdriver.core.factory.ICustomTypePageFactory;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+
+public class StorefrontNavigator implements ICustomTypePageFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorefrontNavigator.class);
+
+    private static final String MODE_KEY = "navigation.mode";
+    private static final String FEATURED_PRODUCT_KEY = "navigation.featured_product_id";
+    private static final String FRONT_OFFICE_KEY = "navigation.front_office_url";
+    private static final int DEFAULT_FEATURED_PRODUCT_ID = 1;
+    private static final String STOREFRONT_PATH = "/index.php";
+
+    private final WebDriver driver;
+    private final Mode mode;
+
+    public enum Mode {
+        DEEP_LINK,
+        UI;
+
+        public static Mode configured() {
+            String value = R.CONFIG.get(MODE_KEY);
+            if (value == null || value.isBlank()) return DEEP_LINK;
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public StorefrontNavigator(WebDriver driver) {
+        this(driver, Mode.configured());
+    }
+
+    public StorefrontNavigator(WebDriver driver, Mode mode) {
+        this.driver = driver;
+        this.mode = mode;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public HomePageBase home() {
+        if (mode == Mode.UI) {
+            return initPage(driver, HomePageBase.class);
+        }
+        return open(storefrontUrl("controller=index"), HomePageBase.class);
+    }
+
+    public SearchResultsPageBase search(String query) {
+        if (mode == Mode.UI) {
+            return home().search(query);
+        }
+        return open(storefrontUrl("controller=search&s=" + encode(query)), SearchResultsPageBase.class);
+    }
+
+    public ProductPageBase featuredProduct() {
+        if (mode == Mode.UI) {
+            return home().openFirstProduct();
+        }
+        return product(featuredProductId());
+    }
+
+    public ProductPageBase product(int productId) {
+        return open(storefrontUrl("id_product=" + productId + "&controller=product"), ProductPageBase.class);
+    }
+
+    public CartPageBase cart() {
+        return open(storefrontUrl("controller=cart&action=show"), CartPageBase.class);
+    }
+
+    public URI storefrontUrl(String query) {
+        return frontOfficeRoot().resolve(STOREFRONT_PATH + "?" + query);
+    }
+
+    private <T extends BasePage> T open(URI url, Class<T> page) {
+        FrameContextTracker.invalidate(driver);
+        driver.get(url.toString());
+        return initPage(driver, page);
+    }
+
+    private URI frontOfficeRoot() {
+        String storefrontUrl = Configuration.getRequired("url");
+        return FrontOfficeUrls.lookup(driver, storefrontUrl).orElseGet(() -> {
+            URI root = configuredFrontOffice().orElseGet(this::discoverFrontOffice).resolve("/");
+            FrontOfficeUrls.record(driver, storefrontUrl, root);
+            LOGGER.info("Deep links for {} resolve against {}", storefrontUrl, root);
+            return root;
+        });
+    }
+
+    private Optional<URI> configuredFrontOffice() {
+        String configured = R.CONFIG.get(FRONT_OFFICE_KEY);
+        return configured == null || configured.isBlank() ? Optional.empty() : Optional.of(URI.create(configured.trim()));
+    }
+
+    private URI discoverFrontOffice() {
+        initPage(driver, HomePageBase.class);
+
+        driver.switchTo().defaultContent();
+        FrameContextTracker.invalidate(driver);
+        return driver.findElements(By.cssSelector(BasePage.FRONT_OFFICE_IFRAME_CSS)).stream()
+                .map(frame -> frame.getDomProperty("src"))
+                .filter(src -> src != null && !src.isBlank())
+                .findFirst()
+                .map(URI::create)
+                .orElseGet(() -> URI.create(driver.getCurrentUrl()));
+    }
+
+    private static int featuredProductId() {
+        String value = R.CONFIG.get(FEATURED_PRODUCT_KEY);
+        return value == null || value.isBlank() ? DEFAULT_FEATURED_PRODUCT_ID : Integer.parseInt(value.trim());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
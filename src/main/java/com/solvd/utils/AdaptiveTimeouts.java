@@ -0,0 +1,58 @@
+package com.solvd.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AdaptiveTimeouts {
+
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(250);
+    private static final Duration MAX_TIMEOUT = Duration.ofSeconds(TimeConstants.SHORT_TIMEOUT_SEC);
+    private static final int SAMPLE_WINDOW = 32;
+    private static final double PERCENTILE = 0.95;
+    private static final int HEADROOM_FACTOR = 2;
+
+    private static final Map<String, LatencyWindow> WINDOWS = new ConcurrentHashMap<>();
+
+    private AdaptiveTimeouts() {
+    }
+
+    public static Duration maxTimeout() {
+        return MAX_TIMEOUT;
+    }
+
+    public static Duration timeoutFor(String locatorKey) {
+        LatencyWindow window = WINDOWS.get(locatorKey);
+        if (window == null) return MAX_TIMEOUT;
+
+        long percentileMs = window.percentileMillis(PERCENTILE);
+        long timeoutMs = Math.max(MIN_TIMEOUT.toMillis(), Math.min(MAX_TIMEOUT.toMillis(), percentileMs * HEADROOM_FACTOR));
+        return Duration.ofMillis(timeoutMs);
+    }
+
+    public static void recordAppearance(String locatorKey, Duration latency) {
+        WINDOWS.computeIfAbsent(locatorKey, key -> new LatencyWindow()).add(latency.toMillis());
+    }
+
+    private static final class LatencyWindow {
+        private final long[] samples = new long[SAMPLE_WINDOW];
+        private int count;
+        private int next;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % SAMPLE_WINDOW;
+            count = Math.min(count + 1, SAMPLE_WINDOW);
+        }
+
+        synchronized long percentileMillis(double percentile) {
+            if (count == 0) return MAX_TIMEOUT.toMillis();
+
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.solvd.utils;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class MoneyFormat {
+
+    private static final Map<Locale, MoneyFormat> FORMATS = new ConcurrentHashMap<>();
+
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+
+    private MoneyFormat(char decimalSeparator, char groupingSeparator) {
+        this.decimalSeparator = decimalSeparator;
+        this.groupingSeparator = groupingSeparator;
+    }
+
+    public static MoneyFormat forLocale(Locale locale) {
+        return FORMATS.computeIfAbsent(locale, MoneyFormat::create);
+    }
+
+    public char getDecimalSeparator() {
+        return decimalSeparator;
+    }
+
+    public char getGroupingSeparator() {
+        return groupingSeparator;
+    }
+
+    private static MoneyFormat create(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        return new MoneyFormat(symbols.getMonetaryDecimalSeparator(), symbols.getGroupingSeparator());
+    }
+}
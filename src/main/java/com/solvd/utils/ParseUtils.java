@@ -1,9 +1,27 @@
 package com.solvd.utils;
 
+import com.solvd.models.Money;
+
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+import java.util.Locale;
 
 public final class ParseUtils {
 
+    private static final MoneyFormat DEFAULT_MONEY_FORMAT = MoneyFormat.forLocale(Locale.US);
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int ISO_CODE_LENGTH = 3;
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency GBP = Currency.getInstance("GBP");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final Currency INR = Currency.getInstance("INR");
+    private static final Currency UAH = Currency.getInstance("UAH");
+    private static final Currency KRW = Currency.getInstance("KRW");
+    private static final Currency TRY = Currency.getInstance("TRY");
+
     private ParseUtils() {
     }
 
@@ -26,19 +44,148 @@ public final class ParseUtils {
 
     public static int parseIntegerFromText(String raw) {
         if (raw == null) return 0;
-        String digits = raw.replaceAll("[^0-9]", "");
-        return digits.isEmpty() ? 0 : Integer.parseInt(digits);
+
+        int value = 0;
+        try {
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Integer out of range in: " + raw);
+        }
+        return value;
     }
 
     public static BigDecimal parseMoney(String raw) {
-        if (raw == null) return BigDecimal.ZERO;
+        return parseMoneyValue(raw).amount();
+    }
+
+    public static Money parseMoneyValue(String raw) {
+        return parseMoneyValue(raw, DEFAULT_MONEY_FORMAT);
+    }
 
-        String s = raw.replaceAll("[^0-9,\\.]", "");
+    public static Money parseMoneyValue(String raw, Locale locale) {
+        return parseMoneyValue(raw, MoneyFormat.forLocale(locale));
+    }
+
+    public static Money parseMoneyValue(String raw, MoneyFormat format) {
+        if (raw == null) return Money.ZERO;
+
+        long unscaled = 0;
+        int digits = 0;
+        int digitsAfterSeparator = 0;
+        int dots = 0;
+        int commas = 0;
+        char lastSeparator = 0;
+        char pendingSeparator = 0;
+        boolean negative = false;
+        boolean pendingMinus = false;
+        boolean openParenthesis = false;
+        int upperCaseRun = 0;
+        Currency currency = null;
+
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
 
-        long commas = s.chars().filter(ch -> ch == ',').count();
-        if (commas == 1 && s.indexOf('.') == -1) s = s.replace(',', '.');
-        else s = s.replace(",", "");
+            if (c >= 'A' && c <= 'Z') {
+                upperCaseRun++;
+                pendingMinus = false;
+                continue;
+            }
+            if (currency == null && upperCaseRun == ISO_CODE_LENGTH) {
+                currency = isoCurrency(raw, i - ISO_CODE_LENGTH);
+            }
+            upperCaseRun = 0;
 
-        return s.isBlank() ? BigDecimal.ZERO : new BigDecimal(s);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0) {
+                    negative = pendingMinus || openParenthesis;
+                }
+                if (pendingSeparator != 0) {
+                    if (pendingSeparator == '.') dots++;
+                    else commas++;
+                    lastSeparator = pendingSeparator;
+                    digitsAfterSeparator = 0;
+                    pendingSeparator = 0;
+                }
+                if (digits < MAX_LONG_DIGITS) {
+                    unscaled = unscaled * 10 + (c - '0');
+                }
+                digits++;
+                digitsAfterSeparator++;
+            } else if (c == '.' || c == ',') {
+                pendingSeparator = digits > 0 ? c : 0;
+            } else if (c == '-') {
+                if (digits == 0) pendingMinus = true;
+            } else if (c == '(') {
+                if (digits == 0) openParenthesis = true;
+            } else if (Character.getType(c) == Character.CURRENCY_SYMBOL) {
+                if (currency == null) currency = symbolCurrency(c);
+            } else if (Character.isLetter(c)) {
+                pendingMinus = false;
+            } else {
+                pendingSeparator = 0;
+            }
+        }
+        if (currency == null && upperCaseRun == ISO_CODE_LENGTH) {
+            currency = isoCurrency(raw, raw.length() - ISO_CODE_LENGTH);
+        }
+
+        if (digits == 0) return new Money(BigDecimal.ZERO, currency);
+
+        int scale = isDecimalSeparator(lastSeparator, dots, commas, digitsAfterSeparator, format)
+                ? digitsAfterSeparator
+                : 0;
+
+        BigDecimal amount = digits <= MAX_LONG_DIGITS
+                ? BigDecimal.valueOf(negative ? -unscaled : unscaled, scale)
+                : new BigDecimal(allDigits(raw, negative), scale);
+
+        return new Money(amount, currency);
+    }
+
+    private static boolean isDecimalSeparator(char separator, int dots, int commas, int digitsAfter, MoneyFormat format) {
+        if (separator == 0) return false;
+
+        int occurrences = separator == '.' ? dots : commas;
+        if (occurrences > 1) return false;
+        if (dots > 0 && commas > 0) return true;
+        if (digitsAfter == ISO_CODE_LENGTH) return separator == format.getDecimalSeparator();
+        return true;
+    }
+
+    private static Currency symbolCurrency(char symbol) {
+        return switch (symbol) {
+            case '\u20AC' -> EUR;
+            case '$' -> USD;
+            case '\u00A3' -> GBP;
+            case '\u00A5' -> JPY;
+            case '\u20B9' -> INR;
+            case '\u20B4' -> UAH;
+            case '\u20A9' -> KRW;
+            case '\u20BA' -> TRY;
+            default -> null;
+        };
+    }
+
+    private static Currency isoCurrency(String raw, int start) {
+        try {
+            return Currency.getInstance(raw.substring(start, start + ISO_CODE_LENGTH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static BigInteger allDigits(String raw, boolean negative) {
+        StringBuilder digits = new StringBuilder(raw.length() + 1);
+        if (negative) digits.append('-');
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        return new BigInteger(digits.toString());
     }
 }
@@ -0,0 +1,152 @@
+package com.solvd.api;
+
+import com.solvd.pages.common.BasePage;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CartSeeder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CartSeeder.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String FIRST_PRODUCT_LINK = ".product-miniature .product-title a[href]";
+    private static final String ADD_TO_CART_FORM = "form#add-to-cart-or-refresh";
+    private static final String CART_LINE = ".cart-items .cart-item";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded; charset=UTF-8";
+
+    private final URI storefrontUrl;
+    private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient client;
+
+    public record SeededCart(URI cartUrl, List<HttpCookie> cookies, String productTitle, int quantity) {
+
+        public URI origin() {
+            return cartUrl.resolve("/");
+        }
+    }
+
+    public CartSeeder(String storefrontUrl) {
+        this.storefrontUrl = URI.create(storefrontUrl);
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    public SeededCart seed(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+
+        Document home = frontOffice(get(storefrontUrl));
+        Element productLink = home.selectFirst(FIRST_PRODUCT_LINK);
+        if (productLink == null) {
+            throw new IllegalStateException("No product link on storefront home page " + home.location());
+        }
+
+        Document product = get(URI.create(productLink.absUrl("href")));
+        Element form = product.selectFirst(ADD_TO_CART_FORM);
+        if (form == null) {
+            throw new IllegalStateException("No add-to-cart form on product page " + product.location());
+        }
+
+        Map<String, String> fields = formFields(form);
+        fields.put("qty", Integer.toString(quantity));
+        fields.putIfAbsent("add", "1");
+        fields.putIfAbsent("action", "update");
+
+        Document cart = post(URI.create(form.absUrl("action")), fields);
+        if (cart.select(CART_LINE).isEmpty()) {
+            throw new IllegalStateException("Cart is still empty after seeding through " + form.absUrl("action"));
+        }
+
+        URI cartUrl = URI.create(cart.location());
+        List<HttpCookie> sessionCookies = cookies.getCookieStore().get(cartUrl);
+        String title = productLink.text().trim();
+        LOGGER.info("Seeded cart with {} x '{}' at {} ({} cookies)", quantity, title, cartUrl, sessionCookies.size());
+        return new SeededCart(cartUrl, sessionCookies, title, quantity);
+    }
+
+    private Document frontOffice(Document page) {
+        Element frame = page.selectFirst(BasePage.FRONT_OFFICE_IFRAME_CSS);
+        if (frame == null || frame.absUrl("src").isEmpty()) return page;
+        return get(URI.create(frame.absUrl("src")));
+    }
+
+    private static Map<String, String> formFields(Element form) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (Element input : form.select("input[name]")) {
+            String type = input.attr("type").toLowerCase(Locale.ROOT);
+            if ("submit".equals(type) || "button".equals(type)) continue;
+            if ("radio".equals(type) || "checkbox".equals(type)) {
+                if (input.hasAttr("checked") || ("radio".equals(type) && !fields.containsKey(input.attr("name")))) {
+                    fields.put(input.attr("name"), input.val());
+                }
+                continue;
+            }
+            fields.put(input.attr("name"), input.val());
+        }
+        for (Element select : form.select("select[name]")) {
+            Element option = select.selectFirst("option[selected]");
+            if (option == null) option = select.selectFirst("option");
+            if (option != null) fields.put(select.attr("name"), option.val());
+        }
+        return fields;
+    }
+
+    private Document get(URI uri) {
+        return send(HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build());
+    }
+
+    private Document post(URI uri, Map<String, String> fields) {
+        String body = fields.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        return send(HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", FORM_CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private Document send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " from " + request.method() + " " + request.uri());
+            }
+            return Jsoup.parse(response.body(), response.uri().toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot reach storefront at " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding cart at " + request.uri(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,279 @@
+package com.solvd.api;
+
+import com.solvd.api.CatalogIndex.Product;
+import com.solvd.pages.common.BasePage;
+import com.zebrunner.carina.utils.R;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.solvd.utils.ParseUtils.parseMoney;
+
+public class CatalogCrawler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogCrawler.class);
+
+    private static final String THREADS_KEY = "catalog_index.threads";
+    private static final String SEARCH_KEYWORDS_KEY = "catalog_index.search_keywords";
+    private static final String MAX_PAGES_KEY = "catalog_index.max_pages";
+    private static final int DEFAULT_THREADS = 4;
+    private static final int DEFAULT_SEARCH_KEYWORDS = 3;
+    private static final int DEFAULT_MAX_PAGES = 5;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PRODUCT_MINIATURE = ".product-miniature";
+    private static final String MINIATURE_LINK = ".product-title a[href]";
+    private static final String MINIATURE_PRICE = ".price";
+    private static final String CATEGORY_LINKS = "#top-menu a[href], .block-categories a[href], a[href*='controller=category']";
+    private static final String NEXT_PAGE = "a[rel=next][href], .pagination a.next[href]";
+    private static final String SEARCH_FORM = "#search_widget form[action]";
+    private static final String PRODUCT_TITLE = "#main h1";
+    private static final String PRODUCT_PRICE = ".current-price .current-price-value, .current-price .price";
+    private static final String PRODUCT_ID = "form#add-to-cart-or-refresh input[name='id_product']";
+    private static final String VARIANT_INPUTS = ".product-variants select, .product-variants input[type='radio']";
+
+    private final URI storefrontUrl;
+    private final int threads;
+    private final int searchKeywords;
+    private final int maxPages;
+    private final HttpClient client;
+    private final AtomicInteger pagesFetched = new AtomicInteger();
+
+    private record Card(URI url, int id, String title, BigDecimal price) {
+    }
+
+    public CatalogCrawler(String storefrontUrl) {
+        this.storefrontUrl = URI.create(storefrontUrl);
+        this.threads = configuredInt(THREADS_KEY, DEFAULT_THREADS);
+        this.searchKeywords = configuredInt(SEARCH_KEYWORDS_KEY, DEFAULT_SEARCH_KEYWORDS);
+        this.maxPages = configuredInt(MAX_PAGES_KEY, DEFAULT_MAX_PAGES);
+        this.client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    public CatalogIndex crawl() {
+        long start = System.nanoTime();
+        Document home = frontOffice(get(storefrontUrl));
+        List<Card> homeCards = cards(home);
+
+        Map<URI, Card> cards = new ConcurrentHashMap<>();
+        homeCards.forEach(card -> cards.putIfAbsent(card.url(), card));
+
+        List<String> keywords = homeCards.stream()
+                .map(Card::title)
+                .map(CatalogIndex::keywordOf)
+                .flatMap(Optional::stream)
+                .distinct()
+                .limit(searchKeywords)
+                .toList();
+        Map<String, List<Card>> searchCards = new ConcurrentHashMap<>();
+        Map<URI, Product> products = new ConcurrentHashMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-crawler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> listings = new ArrayList<>();
+            for (URI category : categoryLinks(home)) {
+                listings.add(submit(pool, category, () -> listing(category).forEach(card -> cards.putIfAbsent(card.url(), card))));
+            }
+            for (String keyword : keywords) {
+                URI searchUrl = searchUrl(home, keyword);
+                listings.add(submit(pool, searchUrl, () -> {
+                    List<Card> found = listing(searchUrl);
+                    searchCards.put(keyword, found);
+                    found.forEach(card -> cards.putIfAbsent(card.url(), card));
+                }));
+            }
+            CompletableFuture.allOf(listings.toArray(CompletableFuture[]::new)).join();
+
+            List<CompletableFuture<Void>> details = cards.values().stream()
+                    .map(card -> submit(pool, card.url(), () -> products.put(card.url(), product(card))))
+                    .toList();
+            CompletableFuture.allOf(details.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<URI, Product> ordered = new LinkedHashMap<>();
+        homeCards.forEach(card -> ordered.put(card.url(), products.getOrDefault(card.url(), fromCard(card))));
+        cards.values().stream()
+                .filter(card -> !ordered.containsKey(card.url()))
+                .sorted(Comparator.comparingInt(Card::id).thenComparing(card -> card.url().toString()))
+                .forEach(card -> ordered.put(card.url(), products.getOrDefault(card.url(), fromCard(card))));
+
+        Map<String, List<Product>> searchResults = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            List<Card> found = searchCards.get(keyword);
+            if (found != null) {
+                searchResults.put(keyword, found.stream().map(card -> ordered.get(card.url())).toList());
+            }
+        }
+
+        LOGGER.info("Catalog index: {} products, {} search keywords {} from {} pages in {} ms using {} threads",
+                ordered.size(), searchResults.size(), searchResults.keySet(), pagesFetched.get(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), threads);
+        return new CatalogIndex(List.copyOf(ordered.values()), searchResults);
+    }
+
+    private static CompletableFuture<Void> submit(ExecutorService pool, URI url, Runnable task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Catalog crawl skipped {}: {}", url, e.getMessage());
+            }
+        }, pool);
+    }
+
+    private List<Card> listing(URI firstPage) {
+        List<Card> found = new ArrayList<>();
+        Set<URI> visited = new LinkedHashSet<>();
+        URI next = firstPage;
+        while (next != null && visited.size() < maxPages && visited.add(next)) {
+            Document page = get(next);
+            found.addAll(cards(page));
+            Element nextLink = page.selectFirst(NEXT_PAGE);
+            next = nextLink == null ? null : URI.create(nextLink.absUrl("href"));
+        }
+        return found;
+    }
+
+    private Product product(Card card) {
+        Document page = get(card.url());
+        Element title = page.selectFirst(PRODUCT_TITLE);
+        Element id = page.selectFirst(PRODUCT_ID);
+        return new Product(
+                id == null ? card.id() : parseInt(id.val(), card.id()),
+                title == null ? card.title() : title.text().trim(),
+                card.title(),
+                card.url(),
+                price(page.selectFirst(PRODUCT_PRICE)).orElse(card.price()),
+                !page.select(VARIANT_INPUTS).isEmpty());
+    }
+
+    private static Product fromCard(Card card) {
+        return new Product(card.id(), card.title(), card.title(), card.url(), card.price(), false);
+    }
+
+    private static List<Card> cards(Document page) {
+        List<Card> cards = new ArrayList<>();
+        for (Element miniature : page.select(PRODUCT_MINIATURE)) {
+            Element link = miniature.selectFirst(MINIATURE_LINK);
+            if (link == null || link.absUrl("href").isEmpty()) continue;
+
+            cards.add(new Card(URI.create(link.absUrl("href")),
+                    parseInt(miniature.attr("data-id-product"), -1),
+                    link.text().trim(),
+                    price(miniature.selectFirst(MINIATURE_PRICE)).orElse(null)));
+        }
+        return cards;
+    }
+
+    private Set<URI> categoryLinks(Document home) {
+        URI homeUrl = URI.create(home.location());
+        return home.select(CATEGORY_LINKS).stream()
+                .map(link -> link.absUrl("href"))
+                .filter(href -> !href.isEmpty())
+                .map(URI::create)
+                .filter(uri -> homeUrl.getHost() != null && homeUrl.getHost().equals(uri.getHost()))
+                .filter(uri -> !uri.equals(homeUrl))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static URI searchUrl(Document home, String keyword) {
+        Element form = home.selectFirst(SEARCH_FORM);
+        if (form == null) {
+            return URI.create(home.location()).resolve("/index.php?controller=search&s=" + encode(keyword));
+        }
+
+        String query = form.select("input[type=hidden][name]").stream()
+                .map(input -> encode(input.attr("name")) + "=" + encode(input.val()))
+                .collect(Collectors.joining("&"));
+        String action = form.absUrl("action");
+        return URI.create(action + (action.contains("?") ? "&" : "?") + (query.isEmpty() ? "" : query + "&")
+                + "s=" + encode(keyword));
+    }
+
+    private Document frontOffice(Document page) {
+        Element frame = page.selectFirst(BasePage.FRONT_OFFICE_IFRAME_CSS);
+        if (frame == null || frame.absUrl("src").isEmpty()) return page;
+        return get(URI.create(frame.absUrl("src")));
+    }
+
+    private static Optional<BigDecimal> price(Element element) {
+        if (element == null) return Optional.empty();
+
+        String raw = element.hasAttr("content") ? element.attr("content") : element.text();
+        try {
+            return Optional.of(parseMoney(raw));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Document get(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " from " + uri);
+            }
+            pagesFetched.incrementAndGet();
+            return Jsoup.parse(response.body(), response.uri().toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot reach storefront at " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while crawling " + uri, e);
+        }
+    }
+
+    private static int parseInt(String raw, int fallback) {
+        try {
+            return raw == null || raw.isBlank() ? fallback : Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static int configuredInt(String key, int fallback) {
+        String value = R.CONFIG.get(key);
+        return value == null || value.isBlank() ? fallback : Integer.parseInt(value.trim());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.solvd.api;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class CatalogIndex {
+
+    private static final int MIN_KEYWORD_LENGTH = 4;
+
+    private final List<Product> products;
+    private final Map<String, List<Product>> searchResults;
+
+    public record Product(int id, String title, String cardTitle, URI url, BigDecimal price, boolean requiresVariants) {
+    }
+
+    public CatalogIndex(List<Product> products, Map<String, List<Product>> searchResults) {
+        this.products = List.copyOf(products);
+        Map<String, List<Product>> copy = new LinkedHashMap<>();
+        searchResults.forEach((keyword, found) -> copy.put(keyword.toLowerCase(Locale.ROOT), List.copyOf(found)));
+        this.searchResults = Collections.unmodifiableMap(copy);
+    }
+
+    public List<Product> products() {
+        return products;
+    }
+
+    public Optional<Product> product(int id) {
+        return products.stream().filter(p -> p.id() == id).findFirst();
+    }
+
+    public Optional<Product> productWithoutVariants() {
+        return products.stream().filter(p -> !p.requiresVariants()).findFirst();
+    }
+
+    public String searchKeyword() {
+        return searchResults.entrySet().stream()
+                .filter(e -> !e.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .or(() -> products.stream().map(Product::title).map(CatalogIndex::keywordOf).flatMap(Optional::stream).findFirst())
+                .orElseThrow(() -> new NoSuchElementException("Catalog index has no product to derive a search keyword from"));
+    }
+
+    public Optional<Set<String>> crawledResultTitlesFor(String keyword) {
+        List<Product> crawled = searchResults.get(keyword.toLowerCase(Locale.ROOT).trim());
+        if (crawled == null || crawled.isEmpty()) return Optional.empty();
+
+        return Optional.of(crawled.stream()
+                .map(Product::cardTitle)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    public static Optional<String> keywordOf(String title) {
+        for (String token : title.split("[^A-Za-z0-9]+")) {
+            if (token.length() >= MIN_KEYWORD_LENGTH) return Optional.of(token.toLowerCase(Locale.ROOT));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,154 @@
+package com.solvd.offline;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchFrameException;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class BrowsingContext {
+
+    private final InMemoryWebDriver driver;
+    private final BrowsingContext parent;
+    private final Map<Element, BrowsingContext> frames = new IdentityHashMap<>();
+    private final String documentId = UUID.randomUUID().toString();
+
+    private Document document;
+    private String url = "about:blank";
+    private long generation;
+    private long networkStarted = -1;
+
+    BrowsingContext(InMemoryWebDriver driver, BrowsingContext parent) {
+        this.driver = driver;
+        this.parent = parent;
+        this.document = Jsoup.parse("");
+    }
+
+    void load(String target) {
+        url = driver.resolve(url, target);
+        networkStarted = -1;
+        render(false);
+    }
+
+    void render(boolean withModal) {
+        String html = driver.storefront().render(url, driver.cart(), withModal);
+        document = Jsoup.parse(html, url);
+        frames.clear();
+        generation++;
+    }
+
+    void rerenderAfterRequest(boolean withModal) {
+        recordRequest();
+        render(withModal);
+    }
+
+    void recordRequest() {
+        if (networkStarted >= 0) networkStarted++;
+    }
+
+    BrowsingContext frame(Element iframe) {
+        if (!"iframe".equals(iframe.tagName()) && !"frame".equals(iframe.tagName())) {
+            throw new NoSuchFrameException("Element is not a frame: " + iframe.tagName());
+        }
+        return frames.computeIfAbsent(iframe, element -> {
+            BrowsingContext child = new BrowsingContext(driver, this);
+            child.load(element.absUrl("src"));
+            return child;
+        });
+    }
+
+    BrowsingContext frame(int index) {
+        Elements iframes = document.select("iframe, frame");
+        if (index < 0 || index >= iframes.size()) {
+            throw new NoSuchFrameException("No frame at index " + index);
+        }
+        return frame(iframes.get(index));
+    }
+
+    BrowsingContext frame(String nameOrId) {
+        for (Element iframe : document.select("iframe, frame")) {
+            if (nameOrId.equals(iframe.id()) || nameOrId.equals(iframe.attr("name"))) {
+                return frame(iframe);
+            }
+        }
+        throw new NoSuchFrameException("No frame named " + nameOrId);
+    }
+
+    List<Element> find(Element scope, By by) {
+        Element root = scope == null ? document : scope;
+        By.Remotable.Parameters parameters = remoteParameters(by);
+        String value = String.valueOf(parameters.value());
+
+        return switch (parameters.using()) {
+            case "css selector" -> select(root, value);
+            case "xpath" -> root.selectXpath(value);
+            case "id" -> select(root, "#" + cssEscape(value));
+            case "name" -> select(root, "[name=\"" + value + "\"]");
+            case "class name" -> select(root, "." + cssEscape(value));
+            case "tag name" -> select(root, value);
+            case "link text" -> root.select("a").stream().filter(a -> a.text().trim().equals(value)).toList();
+            case "partial link text" -> root.select("a").stream().filter(a -> a.text().contains(value)).toList();
+            default -> throw new InvalidSelectorException("Unsupported locator strategy: " + parameters.using());
+        };
+    }
+
+    BrowsingContext parent() {
+        return parent;
+    }
+
+    boolean isNested() {
+        return parent != null;
+    }
+
+    Document document() {
+        return document;
+    }
+
+    String url() {
+        return url;
+    }
+
+    String documentId() {
+        return documentId;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long installNetworkTracking() {
+        if (networkStarted < 0) networkStarted = 0;
+        return networkStarted;
+    }
+
+    long networkStarted() {
+        return networkStarted;
+    }
+
+    private static List<Element> select(Element root, String css) {
+        try {
+            return root.select(css);
+        } catch (Selector.SelectorParseException e) {
+            throw new InvalidSelectorException("Invalid CSS selector: " + css, e);
+        }
+    }
+
+    private static By.Remotable.Parameters remoteParameters(By by) {
+        if (by instanceof By.Remotable remotable) {
+            return remotable.getRemoteParameters();
+        }
+        throw new InvalidSelectorException("Locator cannot be resolved offline: " + by);
+    }
+
+    private static String cssEscape(String value) {
+        return value.replaceAll("([^A-Za-z0-9_-])", "\\\\$1");
+    }
+}
@@ -0,0 +1,61 @@
+package com.solvd.offline;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FixtureCart {
+
+    private final Map<Integer, Integer> quantities = new LinkedHashMap<>();
+
+    public synchronized void add(int productId, int quantity) {
+        if (quantity <= 0) return;
+        quantities.merge(productId, quantity, Integer::sum);
+    }
+
+    public synchronized void setQuantity(int productId, int quantity) {
+        if (!quantities.containsKey(productId)) return;
+
+        if (quantity <= 0) {
+            quantities.remove(productId);
+        } else {
+            quantities.put(productId, quantity);
+        }
+    }
+
+    public synchronized void increase(int productId, int delta) {
+        Integer current = quantities.get(productId);
+        if (current != null) {
+            setQuantity(productId, current + delta);
+        }
+    }
+
+    public synchronized void remove(int productId) {
+        quantities.remove(productId);
+    }
+
+    public synchronized void clear() {
+        quantities.clear();
+    }
+
+    public synchronized Map<Integer, Integer> lines() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(quantities));
+    }
+
+    public synchronized int itemCount() {
+        return quantities.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public synchronized boolean isEmpty() {
+        return quantities.isEmpty();
+    }
+
+    public synchronized BigDecimal subtotal(FixtureStorefront storefront) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+            subtotal = subtotal.add(storefront.product(line.getKey()).price().multiply(BigDecimal.valueOf(line.getValue())));
+        }
+        return subtotal;
+    }
+}
@@ -0,0 +1,6 @@
+package com.solvd.offline;
+
+import java.math.BigDecimal;
+
+public record FixtureProduct(int id, String name, BigDecimal price, boolean hasSizes, boolean hasColors) {
+}
@@ -0,0 +1,192 @@
+package com.solvd.offline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class FixtureServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FixtureServer.class);
+
+    private static final String SESSION_COOKIE = "FIXTURE_SESSION";
+    private static final String HTML = "text/html; charset=utf-8";
+    private static final String JAVASCRIPT = "application/javascript; charset=utf-8";
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+    private static final byte[] ROBOTS = "User-agent: *\nDisallow:\n".getBytes(StandardCharsets.UTF_8);
+    private static final int STOP_DELAY_SEC = 0;
+
+    static {
+        // Without TCP_NODELAY small responses stall ~40ms on Nagle + delayed ACK.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final FixtureStorefront storefront;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, FixtureCart> carts = new ConcurrentHashMap<>();
+    private final byte[] script;
+
+    private FixtureServer(FixtureStorefront storefront, int port) throws IOException {
+        this.storefront = storefront;
+        this.script = readResource(FixtureStorefront.SCRIPT_PATH);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static FixtureServer start(int port) {
+        return start(new FixtureStorefront(), port);
+    }
+
+    public static FixtureServer start(FixtureStorefront storefront, int port) {
+        try {
+            FixtureServer fixtureServer = new FixtureServer(storefront, port);
+            fixtureServer.server.start();
+            LOGGER.info("Fixture storefront listening on {}", fixtureServer.baseUrl());
+            return fixtureServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start fixture storefront on port " + port, e);
+        }
+    }
+
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/";
+    }
+
+    public FixtureStorefront storefront() {
+        return storefront;
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SEC);
+        executor.shutdownNow();
+        carts.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            serve(exchange);
+        } catch (RuntimeException e) {
+            if (exchange.getResponseCode() != -1) {
+                LOGGER.warn("Fixture storefront failed after sending {} for {}; closing the exchange",
+                        exchange.getResponseCode(), exchange.getRequestURI(), e);
+                return;
+            }
+            LOGGER.warn("Fixture storefront failed to serve {}", exchange.getRequestURI(), e);
+            respond(exchange, 500, HTML, new byte[0]);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (FixtureStorefront.SCRIPT_PATH.equals(path)) {
+            respond(exchange, 200, JAVASCRIPT, script);
+            return;
+        }
+        if ("/robots.txt".equals(path)) {
+            respond(exchange, 200, TEXT, ROBOTS);
+            return;
+        }
+        if ("/favicon.ico".equals(path)) {
+            respond(exchange, 404, HTML, new byte[0]);
+            return;
+        }
+
+        FixtureCart cart = session(exchange);
+        Map<String, String> params = FixtureStorefront.parseQuery(exchange.getRequestURI().getRawQuery());
+        if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            params.putAll(FixtureStorefront.parseQuery(readBody(exchange)));
+        }
+
+        boolean ajax = "1".equals(params.get("ajax"));
+        if (ajax && "refresh".equals(params.get("action"))) {
+            respond(exchange, 200, JSON, "{\"success\":true}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        if ("POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            storefront.applyCartAction(params, cart);
+            if (ajax) {
+                String page = params.getOrDefault("page", FixtureStorefront.cartUrl());
+                String html = storefront.render(page, cart, "1".equals(params.get("modal")));
+                respond(exchange, 200, HTML, html.getBytes(StandardCharsets.UTF_8));
+            } else {
+                exchange.getResponseHeaders().add("Location", FixtureStorefront.cartUrl());
+                respond(exchange, 302, HTML, new byte[0]);
+            }
+            return;
+        }
+
+        String html = storefront.render(exchange.getRequestURI().toString(), cart, false);
+        respond(exchange, 200, HTML, html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FixtureCart session(HttpExchange exchange) {
+        List<String> cookieHeaders = exchange.getRequestHeaders().getOrDefault("Cookie", List.of());
+        for (String header : cookieHeaders) {
+            for (String pair : header.split(";")) {
+                List<HttpCookie> cookies = HttpCookie.parse(pair.trim());
+                for (HttpCookie cookie : cookies) {
+                    FixtureCart cart = SESSION_COOKIE.equals(cookie.getName()) ? carts.get(cookie.getValue()) : null;
+                    if (cart != null) return cart;
+                }
+            }
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        FixtureCart cart = new FixtureCart();
+        carts.put(sessionId, cart);
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/; HttpOnly");
+        return cart;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream in = FixtureServer.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Missing fixture resource: " + path);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
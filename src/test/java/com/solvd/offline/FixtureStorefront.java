@@ -0,0 +1,324 @@
+package com.solvd.offline;
+
+import org.jsoup.nodes.Entities;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class FixtureStorefront {
+
+    public static final String STOREFRONT_PATH = "/index.php";
+    public static final String SCRIPT_PATH = "/fixture/storefront.js";
+    public static final BigDecimal SHIPPING = new BigDecimal("7.00");
+
+    private static final List<FixtureProduct> DEFAULT_CATALOG = List.of(
+            new FixtureProduct(1, "Hummingbird printed t-shirt", new BigDecimal("19.12"), true, true),
+            new FixtureProduct(2, "Hummingbird printed sweater", new BigDecimal("28.72"), true, false),
+            new FixtureProduct(3, "The best is yet to come' Framed poster", new BigDecimal("29.00"), false, false),
+            new FixtureProduct(4, "Mug The best is yet to come", new BigDecimal("11.90"), false, false),
+            new FixtureProduct(5, "Brown bear cushion", new BigDecimal("18.90"), false, true),
+            new FixtureProduct(6, "Mountain fox notebook", new BigDecimal("12.90"), false, false)
+    );
+
+    private final List<FixtureProduct> catalog;
+
+    public FixtureStorefront() {
+        this(DEFAULT_CATALOG);
+    }
+
+    public FixtureStorefront(List<FixtureProduct> catalog) {
+        this.catalog = List.copyOf(catalog);
+    }
+
+    public List<FixtureProduct> catalog() {
+        return catalog;
+    }
+
+    public FixtureProduct product(int id) {
+        return catalog.stream()
+                .filter(p -> p.id() == id)
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Unknown fixture product: " + id));
+    }
+
+    public String render(String url, FixtureCart cart, boolean withModal) {
+        URI uri = URI.create(url);
+        String path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+        Map<String, String> params = parseQuery(uri.getRawQuery());
+
+        if ("/".equals(path)) {
+            return frameWrapper();
+        }
+        if (!STOREFRONT_PATH.equals(path)) {
+            return pageNotFound(cart);
+        }
+
+        String controller = params.getOrDefault("controller", "index");
+        return switch (controller) {
+            case "index" -> home(cart);
+            case "search" -> search(params.getOrDefault("s", ""), cart);
+            case "product" -> productOrNotFound(params.get("id_product"), cart, withModal);
+            case "cart" -> {
+                applyCartAction(params, cart);
+                yield cartPage(cart);
+            }
+            default -> pageNotFound(cart);
+        };
+    }
+
+    public boolean applyCartAction(Map<String, String> params, FixtureCart cart) {
+        int productId = parseInt(params.get("id_product"), -1);
+        if (productId < 0) return false;
+
+        int quantity = parseInt(params.get("qty"), 1);
+        if (params.containsKey("add")) {
+            cart.add(productId, quantity);
+            return true;
+        }
+        if (params.containsKey("delete")) {
+            cart.remove(productId);
+            return true;
+        }
+        if (params.containsKey("update")) {
+            switch (params.getOrDefault("op", "set")) {
+                case "up" -> cart.increase(productId, quantity);
+                case "down" -> cart.increase(productId, -quantity);
+                default -> cart.setQuantity(productId, quantity);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    public static String productUrl(int productId) {
+        return STOREFRONT_PATH + "?id_product=" + productId + "&controller=product";
+    }
+
+    public static String cartUrl() {
+        return STOREFRONT_PATH + "?controller=cart&action=show";
+    }
+
+    public static String formatPrice(BigDecimal amount) {
+        return String.format(Locale.ROOT, "€%.2f", amount);
+    }
+
+    private String frameWrapper() {
+        return """
+                <!DOCTYPE html>
+                <html><head><title>Fixture shop demo</title></head>
+                <body>
+                <div id="demo-toolbar">Fixture storefront</div>
+                <iframe id="framelive" name="framelive" src="%s" style="width:100%%;height:100%%;border:0"></iframe>
+                </body></html>
+                """.formatted(STOREFRONT_PATH);
+    }
+
+    private String home(FixtureCart cart) {
+        StringBuilder body = new StringBuilder("<section id=\"content\" class=\"page-home\"><div class=\"products\">");
+        catalog.forEach(product -> body.append(miniature(product)));
+        body.append("</div></section>");
+        return layout("Home", "index", body.toString(), cart, "");
+    }
+
+    private String search(String query, FixtureCart cart) {
+        String needle = query.toLowerCase(Locale.ROOT).trim();
+        List<FixtureProduct> matches = catalog.stream()
+                .filter(p -> !needle.isEmpty() && p.name().toLowerCase(Locale.ROOT).contains(needle))
+                .toList();
+
+        StringBuilder body = new StringBuilder();
+        if (matches.isEmpty()) {
+            body.append("<section id=\"main\"><div id=\"js-product-list\">")
+                    .append("<section id=\"content\" class=\"page-content page-not-found\">")
+                    .append("<h4 id=\"product-search-no-matches\">No matches were found for your search</h4>")
+                    .append("<p>Please try other keywords to describe what you are looking for.</p>")
+                    .append("</section></div></section>");
+        } else {
+            body.append("<section id=\"content\"><div id=\"js-product-list\"><div class=\"products\">");
+            matches.forEach(product -> body.append(miniature(product)));
+            body.append("</div></div></section>");
+        }
+        return layout("Search", "search", body.toString(), cart, "");
+    }
+
+    private String productOrNotFound(String rawId, FixtureCart cart, boolean withModal) {
+        int id = parseInt(rawId, -1);
+        return catalog.stream().anyMatch(p -> p.id() == id)
+                ? productPage(product(id), cart, withModal)
+                : pageNotFound(cart);
+    }
+
+    private String productPage(FixtureProduct product, FixtureCart cart, boolean withModal) {
+        StringBuilder variants = new StringBuilder("<div class=\"product-variants\">");
+        if (product.hasSizes()) {
+            variants.append("<div class=\"product-variants-item\"><span class=\"control-label\">Size</span>")
+                    .append("<select name=\"group[1]\" data-product-attribute=\"1\">")
+                    .append("<option value=\"1\" selected>S</option>")
+                    .append("<option value=\"2\">M</option>")
+                    .append("<option value=\"3\">L</option>")
+                    .append("</select></div>");
+        }
+        if (product.hasColors()) {
+            variants.append("<div class=\"product-variants-item\"><span class=\"control-label\">Color</span>")
+                    .append("<ul><li><input type=\"radio\" name=\"group[2]\" value=\"8\"> White</li>")
+                    .append("<li><input type=\"radio\" name=\"group[2]\" value=\"11\"> Black</li></ul></div>");
+        }
+        variants.append("</div>");
+
+        String body = """
+                <section id="main">
+                <h1 class="h1">%s</h1>
+                <div class="product-prices"><div class="current-price"><span class="price">%s</span></div></div>
+                <form id="add-to-cart-or-refresh" action="%s?controller=cart" method="post">
+                <input type="hidden" name="add" value="1">
+                <input type="hidden" name="id_product" value="%d">
+                %s
+                <div class="product-quantity"><input type="number" name="qty" value="1" min="1"></div>
+                <button class="btn btn-primary add-to-cart" data-button-action="add-to-cart" type="submit">Add to cart</button>
+                </form>
+                </section>
+                """.formatted(escape(product.name()), formatPrice(product.price()), STOREFRONT_PATH, product.id(), variants);
+
+        String modal = withModal ? blockcartModal(product, cart) : "";
+        return layout(product.name(), "product", body, cart, modal);
+    }
+
+    private String blockcartModal(FixtureProduct product, FixtureCart cart) {
+        int count = cart.itemCount();
+        return """
+                <div id="blockcart-modal" class="modal fade in" style="display:block">
+                <div class="modal-body">
+                <h6 class="h6 product-name">%s</h6>
+                <div class="cart-content">
+                <p class="cart-products-count">There %s %d %s in your cart.</p>
+                <a href="%s" class="btn btn-primary">Proceed to checkout</a>
+                </div>
+                </div>
+                </div>
+                """.formatted(escape(product.name()), count == 1 ? "is" : "are", count, count == 1 ? "item" : "items", cartUrl());
+    }
+
+    private String cartPage(FixtureCart cart) {
+        StringBuilder body = new StringBuilder("<section id=\"main\"><div class=\"cart-grid-body\"><div class=\"cart-overview js-cart\">");
+        if (cart.isEmpty()) {
+            body.append("<span class=\"no-items\">There are no more items in your cart</span>");
+        } else {
+            body.append("<ul class=\"cart-items\">");
+            cart.lines().forEach((productId, quantity) -> body.append(cartLine(product(productId), quantity)));
+            body.append("</ul>");
+        }
+        body.append("</div></div>");
+
+        BigDecimal subtotal = cart.subtotal(this);
+        BigDecimal total = cart.isEmpty() ? subtotal : subtotal.add(SHIPPING);
+        body.append("<div class=\"cart-summary\">")
+                .append("<div class=\"cart-summary-line cart-subtotal\" id=\"cart-subtotal-products\">")
+                .append("<span class=\"label\">").append(cart.itemCount()).append(" items</span>")
+                .append("<span class=\"value\">").append(formatPrice(subtotal)).append("</span></div>")
+                .append("<div class=\"cart-summary-line cart-total\"><span class=\"label\">Total</span>")
+                .append("<span class=\"value\">").append(formatPrice(total)).append("</span></div>")
+                .append("</div></section>");
+
+        return layout("Cart", "cart", body.toString(), cart, "");
+    }
+
+    private String cartLine(FixtureProduct product, int quantity) {
+        BigDecimal lineTotal = product.price().multiply(BigDecimal.valueOf(quantity));
+        return """
+                <li class="cart-item">
+                <div class="product-line-grid">
+                <div class="product-line-grid-body">
+                <div class="product-line-info"><a class="label" href="%s">%s</a></div>
+                <div class="product-line-info product-price"><div class="current-price"><span class="price">%s</span></div></div>
+                </div>
+                <div class="product-line-grid-right">
+                <input class="js-cart-line-product-quantity" type="number" value="%d" name="product-quantity-spin" data-id-product="%d">
+                <button class="btn js-increase-product-quantity" data-id-product="%d">+</button>
+                <span class="product-price"><strong>%s</strong></span>
+                <a class="remove-from-cart" rel="nofollow" href="%s?controller=cart&amp;delete=1&amp;id_product=%d" data-id-product="%d">Remove</a>
+                </div>
+                </div>
+                </li>
+                """.formatted(productUrl(product.id()), escape(product.name()), formatPrice(product.price()),
+                quantity, product.id(), product.id(), formatPrice(lineTotal), STOREFRONT_PATH, product.id(), product.id());
+    }
+
+    private String pageNotFound(FixtureCart cart) {
+        String body = """
+                <section id="content" class="page-content page-not-found">
+                <h4>Sorry for the inconvenience.</h4>
+                <p>Search again what you are looking for</p>
+                </section>
+                """;
+        return layout("Page not found", "pagenotfound", body, cart, "");
+    }
+
+    private String miniature(FixtureProduct product) {
+        return """
+                <article class="product-miniature js-product-miniature" data-id-product="%d">
+                <div class="product-description">
+                <h3 class="h3 product-title"><a href="%s">%s</a></h3>
+                <div class="product-price-and-shipping"><span class="price">%s</span></div>
+                </div>
+                </article>
+                """.formatted(product.id(), productUrl(product.id()), escape(product.name()), formatPrice(product.price()));
+    }
+
+    private String layout(String title, String pageId, String content, FixtureCart cart, String modal) {
+        int count = cart.itemCount();
+        return """
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>%s</title></head>
+                <body id="%s">
+                <header id="header">
+                <div id="_desktop_cart"><div class="blockcart"><a href="%s">Cart <span class="cart-products-count">(%d)</span></a></div></div>
+                <div id="_mobile_cart"><div class="blockcart"><span class="cart-products-count">%d</span></div></div>
+                <div id="search_widget" class="search-widget">
+                <form method="get" action="%s">
+                <input type="hidden" name="controller" value="search">
+                <input type="text" name="s" value="" placeholder="Search our catalog">
+                <button type="submit">Search</button>
+                </form>
+                </div>
+                </header>
+                <main>%s</main>
+                %s
+                <script src="%s"></script>
+                </body></html>
+                """.formatted(escape(title), pageId, cartUrl(), count, count, STOREFRONT_PATH, content, modal, SCRIPT_PATH);
+    }
+
+    private static int parseInt(String raw, int fallback) {
+        if (raw == null || raw.isBlank()) return fallback;
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String escape(String text) {
+        return Entities.escape(text);
+    }
+}
@@ -0,0 +1,224 @@
+package com.solvd.offline;
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.List;
+import java.util.Objects;
+
+public class InMemoryElement implements WebElement, WrapsDriver {
+
+    private static final char FIRST_KEY_CODE = '\uE000';
+    private static final char LAST_KEY_CODE = '\uF8FF';
+    private static final Dimension RENDERED_SIZE = new Dimension(120, 24);
+
+    private final InMemoryWebDriver driver;
+    private final BrowsingContext context;
+    private final long generation;
+    private final Element element;
+
+    InMemoryElement(InMemoryWebDriver driver, BrowsingContext context, Element element) {
+        this.driver = driver;
+        this.context = context;
+        this.generation = context.generation();
+        this.element = element;
+    }
+
+    Element node() {
+        ensureAttached();
+        return element;
+    }
+
+    BrowsingContext context() {
+        return context;
+    }
+
+    @Override
+    public void click() {
+        ensureInteractable();
+        driver.interactions().click(context, element);
+    }
+
+    @Override
+    public void submit() {
+        ensureAttached();
+        Element form = element.closest("form");
+        if (form == null) {
+            throw new UnsupportedOperationException("Element is not inside a form: " + element.tagName());
+        }
+        driver.interactions().submit(context, form);
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        ensureInteractable();
+        StringBuilder typed = new StringBuilder(element.val());
+        boolean enter = false;
+
+        for (CharSequence sequence : keysToSend) {
+            for (int i = 0; i < sequence.length(); i++) {
+                char c = sequence.charAt(i);
+                if (c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                    enter = true;
+                } else if (c == Keys.BACK_SPACE.charAt(0)) {
+                    if (!typed.isEmpty()) typed.setLength(typed.length() - 1);
+                } else if (c < FIRST_KEY_CODE || c > LAST_KEY_CODE) {
+                    typed.append(c);
+                }
+            }
+        }
+
+        element.val(typed.toString());
+        if (enter) {
+            driver.interactions().pressEnter(context, element);
+        }
+    }
+
+    @Override
+    public void clear() {
+        ensureInteractable();
+        element.val("");
+    }
+
+    @Override
+    public String getTagName() {
+        return node().tagName();
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        String property = getDomProperty(name);
+        return property != null ? property : getDomAttribute(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        Element node = node();
+        return node.hasAttr(name) ? node.attr(name) : null;
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        Element node = node();
+        return switch (name) {
+            case "value" -> node.is("input, textarea, select") ? node.val() : null;
+            case "checked", "selected" -> String.valueOf(isSelected());
+            case "innerText", "textContent" -> node.text();
+            case "innerHTML" -> node.html();
+            case "outerHTML" -> node.outerHtml();
+            case "href", "src" -> node.hasAttr(name) ? node.absUrl(name) : null;
+            default -> null;
+        };
+    }
+
+    @Override
+    public boolean isSelected() {
+        Element node = node();
+        return node.is("option") ? node.hasAttr("selected") : node.hasAttr("checked");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !node().hasAttr("disabled");
+    }
+
+    @Override
+    public String getText() {
+        return isDisplayed() ? element.text() : "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return driver.wrap(context, context.find(node(), by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate " + by + " inside " + element.cssSelector());
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        for (Element current = node(); current != null; current = current.parent()) {
+            String style = current.attr("style").replace(" ", "");
+            if (style.contains("display:none") || style.contains("visibility:hidden")
+                    || current.hasAttr("hidden") || "hidden".equals(current.attr("type"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, element.siblingIndex() * RENDERED_SIZE.getHeight());
+    }
+
+    @Override
+    public Dimension getSize() {
+        return isDisplayed() ? RENDERED_SIZE : new Dimension(0, 0);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        ensureAttached();
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException("In-memory elements cannot be captured");
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return driver;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof InMemoryElement that && that.element == element && that.context == context;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(element), System.identityHashCode(context));
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryElement[" + element.cssSelector() + "]";
+    }
+
+    private void ensureAttached() {
+        if (context.generation() != generation) {
+            throw new StaleElementReferenceException("Element is no longer attached to the DOM: " + element.cssSelector());
+        }
+    }
+
+    private void ensureInteractable() {
+        if (!isDisplayed() || !isEnabled()) {
+            throw new ElementNotInteractableException("Element is not interactable: " + element.cssSelector());
+        }
+    }
+}
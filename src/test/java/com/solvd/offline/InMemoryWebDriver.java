@@ -0,0 +1,368 @@
+package com.solvd.offline;
+
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class InMemoryWebDriver implements WebDriver, JavascriptExecutor, HasCapabilities {
+
+    public static final String BASE_URL = "http://storefront.offline/";
+
+    private static final String WINDOW_HANDLE = "offline-window";
+    private static final Dimension WINDOW_SIZE = new Dimension(1280, 800);
+
+    private final FixtureStorefront storefront;
+    private final FixtureCart cart = new FixtureCart();
+    private final Interactions interactions = new Interactions(this);
+    private final ScriptHooks scriptHooks = new ScriptHooks(this);
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<String> history = new ArrayList<>();
+    private final Options options;
+    private final Capabilities capabilities = new ImmutableCapabilities("browserName", "offline");
+
+    private BrowsingContext top = new BrowsingContext(this, null);
+    private BrowsingContext current = top;
+    private int historyIndex = -1;
+    private boolean closed;
+
+    public InMemoryWebDriver() {
+        this(new FixtureStorefront());
+    }
+
+    public InMemoryWebDriver(FixtureStorefront storefront) {
+        this.storefront = storefront;
+        ClassLoader loader = getClass().getClassLoader();
+        Object timeouts = proxy(loader, Timeouts.class, (proxy, method, args) ->
+                method.getReturnType() == Duration.class ? Duration.ZERO : proxy);
+        Object window = proxy(loader, Window.class, (proxy, method, args) -> onWindow(method));
+        this.options = (Options) proxy(loader, Options.class, (proxy, method, args) ->
+                onOptions(method, args, timeouts, window));
+    }
+
+    public FixtureStorefront storefront() {
+        return storefront;
+    }
+
+    public FixtureCart cart() {
+        return cart;
+    }
+
+    Interactions interactions() {
+        return interactions;
+    }
+
+    @Override
+    public void get(String url) {
+        ensureOpen();
+        navigate(url, true);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        ensureOpen();
+        return top.url();
+    }
+
+    @Override
+    public String getTitle() {
+        ensureOpen();
+        return top.document().title();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        ensureOpen();
+        return wrap(current, current.find(null, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate " + by + " in " + current.url());
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        ensureOpen();
+        return current.document().outerHtml();
+    }
+
+    @Override
+    public void close() {
+        quit();
+    }
+
+    @Override
+    public void quit() {
+        closed = true;
+        cookies.clear();
+        cart.clear();
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        ensureOpen();
+        return Set.of(WINDOW_HANDLE);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        ensureOpen();
+        return WINDOW_HANDLE;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        ensureOpen();
+        return new OfflineTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        ensureOpen();
+        return new OfflineNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        ensureOpen();
+        return options;
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        ensureOpen();
+        Object[] unwrapped = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            unwrapped[i] = args[i] instanceof WebElement element ? unwrap(element) : args[i];
+        }
+        return scriptHooks.execute(current, script, unwrapped);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return capabilities;
+    }
+
+    List<WebElement> wrap(BrowsingContext context, List<Element> elements) {
+        List<WebElement> wrapped = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            wrapped.add(new InMemoryElement(this, context, element));
+        }
+        return wrapped;
+    }
+
+    String resolve(String base, String target) {
+        URI targetUri = URI.create(target.trim());
+        if (targetUri.isAbsolute()) return targetUri.toString();
+
+        URI baseUri = URI.create(base.startsWith("http") ? base : BASE_URL);
+        return baseUri.resolve(targetUri).toString();
+    }
+
+    private void navigate(String url, boolean record) {
+        top = new BrowsingContext(this, null);
+        current = top;
+        top.load(url);
+
+        if (record) {
+            history.subList(historyIndex + 1, history.size()).clear();
+            history.add(top.url());
+            historyIndex = history.size() - 1;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new NoSuchSessionException("Offline driver has been quit");
+        }
+    }
+
+    private Object onOptions(Method method, Object[] args, Object timeouts, Object window) {
+        return switch (method.getName()) {
+            case "timeouts" -> timeouts;
+            case "window" -> window;
+            case "addCookie" -> {
+                Cookie cookie = (Cookie) args[0];
+                cookies.put(cookie.getName(), cookie);
+                yield null;
+            }
+            case "getCookies" -> new LinkedHashSet<>(cookies.values());
+            case "getCookieNamed" -> cookies.get((String) args[0]);
+            case "deleteCookieNamed" -> cookies.remove((String) args[0]);
+            case "deleteCookie" -> cookies.remove(((Cookie) args[0]).getName());
+            case "deleteAllCookies" -> {
+                cookies.clear();
+                yield null;
+            }
+            default -> throw unsupported("manage()." + method.getName() + "()");
+        };
+    }
+
+    private static Object proxy(ClassLoader loader, Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(loader, new Class<?>[]{type}, (proxy, method, args) -> switch (method.getName()) {
+            case "toString" -> "InMemoryWebDriver." + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> handler.invoke(proxy, method, args);
+        });
+    }
+
+    static UnsupportedCommandException unsupported(String call) {
+        return new UnsupportedCommandException("Offline driver does not support " + call
+                + "; the page-object path that needs it has to run in the fixture-server lane");
+    }
+
+    private static Object onWindow(Method method) {
+        return switch (method.getName()) {
+            case "getSize" -> WINDOW_SIZE;
+            case "getPosition" -> new Point(0, 0);
+            default -> null;
+        };
+    }
+
+    private static InMemoryElement unwrap(WebElement element) {
+        WebElement candidate = element;
+        while (candidate instanceof WrapsElement wrapper) {
+            candidate = wrapper.getWrappedElement();
+        }
+        if (candidate instanceof InMemoryElement inMemory) {
+            return inMemory;
+        }
+        throw new IllegalArgumentException("Element does not belong to the offline driver: " + element);
+    }
+
+    private class OfflineTargetLocator implements TargetLocator {
+
+        @Override
+        public WebDriver frame(int index) {
+            current = current.frame(index);
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            current = current.frame(nameOrId);
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            InMemoryElement frame = unwrap(frameElement);
+            if (frame.context() != current) {
+                throw new NoSuchFrameException("Frame element belongs to another browsing context");
+            }
+            current = current.frame(frame.node());
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            if (current.parent() != null) {
+                current = current.parent();
+            }
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            if (!WINDOW_HANDLE.equals(nameOrHandle)) {
+                throw new NoSuchWindowException("Offline driver has a single window");
+            }
+            current = top;
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            throw unsupported("switchTo().newWindow(" + typeHint + ")");
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            current = top;
+            return InMemoryWebDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return wrap(current, List.of(current.document().body())).get(0);
+        }
+
+        @Override
+        public Alert alert() {
+            throw new NoAlertPresentException("Offline storefront never raises alerts");
+        }
+    }
+
+    private class OfflineNavigation implements Navigation {
+
+        @Override
+        public void back() {
+            if (historyIndex > 0) {
+                navigate(history.get(--historyIndex), false);
+            }
+        }
+
+        @Override
+        public void forward() {
+            if (historyIndex < history.size() - 1) {
+                navigate(history.get(++historyIndex), false);
+            }
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            top.load(top.url());
+            current = top;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.solvd.offline;
+
+import com.solvd.utils.ParseUtils;
+import org.jsoup.nodes.Element;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+final class Interactions {
+
+    private final InMemoryWebDriver driver;
+
+    Interactions(InMemoryWebDriver driver) {
+        this.driver = driver;
+    }
+
+    void click(BrowsingContext context, Element element) {
+        Element addToCart = element.closest("[data-button-action=add-to-cart]");
+        if (addToCart != null && addToCart.closest("form") != null) {
+            driver.storefront().applyCartAction(formParams(addToCart.closest("form")), driver.cart());
+            context.rerenderAfterRequest(true);
+            return;
+        }
+
+        Element increase = element.closest(".js-increase-product-quantity");
+        if (increase != null) {
+            driver.cart().increase(productId(increase), 1);
+            context.rerenderAfterRequest(false);
+            return;
+        }
+
+        Element remove = element.closest("a.remove-from-cart");
+        if (remove != null) {
+            driver.cart().remove(productId(remove));
+            context.rerenderAfterRequest(false);
+            return;
+        }
+
+        if (element.is("input[type=radio]")) {
+            check(element);
+            return;
+        }
+        if (element.is("input[type=checkbox]")) {
+            if (element.hasAttr("checked")) element.removeAttr("checked");
+            else element.attr("checked", "checked");
+            return;
+        }
+        if (element.is("option")) {
+            select(element);
+            return;
+        }
+
+        Element link = element.closest("a[href]");
+        if (link != null) {
+            context.load(link.attr("href"));
+            return;
+        }
+
+        Element submitter = element.closest("button[type=submit], input[type=submit], button:not([type])");
+        if (submitter != null && submitter.closest("form") != null) {
+            submit(context, submitter.closest("form"));
+        }
+    }
+
+    void submit(BrowsingContext context, Element form) {
+        Map<String, String> params = formParams(form);
+        String action = form.hasAttr("action") ? form.absUrl("action") : context.url();
+
+        if ("post".equalsIgnoreCase(form.attr("method"))) {
+            driver.storefront().applyCartAction(params, driver.cart());
+            context.load(FixtureStorefront.cartUrl());
+            return;
+        }
+
+        int query = action.indexOf('?');
+        String path = query < 0 ? action : action.substring(0, query);
+        context.load(path + "?" + encode(params));
+    }
+
+    void pressEnter(BrowsingContext context, Element element) {
+        if (element.is("input.js-cart-line-product-quantity")) {
+            driver.cart().setQuantity(productId(element), ParseUtils.parseCount(element.val()));
+            context.rerenderAfterRequest(false);
+            return;
+        }
+
+        Element form = element.closest("form");
+        if (form != null) {
+            submit(context, form);
+        }
+    }
+
+    int selectFirstAvailableVariants(BrowsingContext context) {
+        Element root = context.document().selectFirst("form#add-to-cart-or-refresh");
+        if (root == null) root = context.document();
+
+        int changed = 0;
+        for (Element select : root.select(".product-variants select")) {
+            for (Element option : select.select("option")) {
+                String value = option.val().trim();
+                if (!value.isEmpty() && !"0".equals(value) && !option.hasAttr("selected")) {
+                    select(option);
+                    changed++;
+                    break;
+                }
+            }
+        }
+
+        Map<String, Boolean> pickedGroups = new LinkedHashMap<>();
+        for (Element radio : root.select(".product-variants input[type=radio]")) {
+            String name = radio.attr("name");
+            if (name.isEmpty() || pickedGroups.putIfAbsent(name, true) != null) continue;
+            if (!radio.hasAttr("checked")) {
+                check(radio);
+                changed++;
+            }
+        }
+
+        if (changed > 0) {
+            context.recordRequest();
+        }
+        return changed;
+    }
+
+    private static void check(Element radio) {
+        Element scope = radio.closest("form");
+        if (scope == null) scope = radio.ownerDocument();
+        if (scope != null) {
+            scope.select("input[type=radio][name=\"" + radio.attr("name") + "\"]").removeAttr("checked");
+        }
+        radio.attr("checked", "checked");
+    }
+
+    private static void select(Element option) {
+        Element select = option.closest("select");
+        if (select != null) {
+            select.select("option").removeAttr("selected");
+        }
+        option.attr("selected", "selected");
+    }
+
+    private static Map<String, String> formParams(Element form) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (Element field : form.select("input[name], select[name], textarea[name]")) {
+            if (field.is("input[type=radio], input[type=checkbox]") && !field.hasAttr("checked")) continue;
+            if (field.is("input[type=submit], input[type=button]")) continue;
+            params.put(field.attr("name"), field.val());
+        }
+        return params;
+    }
+
+    private static int productId(Element element) {
+        return ParseUtils.parseCount(element.attr("data-id-product"));
+    }
+
+    private static String encode(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
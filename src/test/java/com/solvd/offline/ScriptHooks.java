@@ -0,0 +1,171 @@
+package com.solvd.offline;
+
+import com.solvd.pages.common.BasePage;
+import com.solvd.utils.ParseUtils;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.JavascriptException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class ScriptHooks {
+
+    private static final String MARKER_PREFIX = "/* solvd:";
+
+    private final InMemoryWebDriver driver;
+
+    ScriptHooks(InMemoryWebDriver driver) {
+        this.driver = driver;
+    }
+
+    Object execute(BrowsingContext context, String script, Object[] args) {
+        String trimmed = script.strip();
+        if (trimmed.startsWith(MARKER_PREFIX)) {
+            String marker = trimmed.substring(MARKER_PREFIX.length(), trimmed.indexOf("*/")).trim();
+            return executeMarked(context, marker, args);
+        }
+
+        if (trimmed.startsWith("arguments[0].select()")) {
+            element(args, 0).node().val("");
+            return null;
+        }
+        if (trimmed.startsWith("arguments[0].click()")) {
+            element(args, 0).click();
+            return null;
+        }
+        if (trimmed.startsWith("arguments[0].scrollIntoView")) {
+            return null;
+        }
+        if (trimmed.startsWith("window.open(")) {
+            return null;
+        }
+        if (trimmed.contains("document.readyState")) {
+            return "complete";
+        }
+        throw new JavascriptException("No offline hook for script: " + firstLine(script));
+    }
+
+    private Object executeMarked(BrowsingContext context, String marker, Object[] args) {
+        return switch (marker) {
+            case "frame-context" -> Map.of("nested", context.isNested(),
+                    "wrapper", context.document().selectFirst((String) args[0]) != null);
+            case "readiness-probe" -> readinessProbe(context, (List<?>) args[0]);
+            case "product-cards" -> productCards(context);
+            case "cart-snapshot" -> cartSnapshot(context);
+            case "network-install" -> context.installNetworkTracking();
+            case "network-await" -> networkAwait(context, ((Number) args[0]).longValue());
+            case "network-settled" -> true;
+            case "variant-selection" -> (long) driver.interactions().selectFirstAvailableVariants(context);
+            case "dom-watch" -> domWatch(context, (String) args[0], (String) args[1], args[2]);
+            case "dom-generation" -> context.documentId() + ':' + args[0] + ':' + context.generation();
+            default -> throw new JavascriptException("No offline hook for marker: " + marker);
+        };
+    }
+
+    private long readinessProbe(BrowsingContext context, List<?> selectors) {
+        Element frame = context.document().selectFirst(BasePage.FRONT_OFFICE_IFRAME_CSS);
+        BrowsingContext nested = frame == null ? null : context.frame(frame);
+
+        for (int i = 0; i < selectors.size(); i++) {
+            String selector = String.valueOf(selectors.get(i));
+            if (firstShown(context, selector) != null || (nested != null && firstShown(nested, selector) != null)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Map<String, Object>> productCards(BrowsingContext context) {
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (Element card : context.document().select("#js-product-list .product-miniature")) {
+            Element link = card.selectFirst(".product-title a");
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("title", link == null ? "" : link.text());
+            row.put("url", link == null ? "" : link.absUrl("href"));
+            row.put("price", text(card.selectFirst(".product-price-and-shipping .price, .price")));
+            row.put("visible", isShown(context, card));
+            cards.add(row);
+        }
+        return cards;
+    }
+
+    private Map<String, Object> cartSnapshot(BrowsingContext context) {
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (Element item : context.document().select("#main .cart-items .cart-item")) {
+            if (!isShown(context, item)) continue;
+            Element quantity = item.selectFirst("input.js-cart-line-product-quantity");
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("title", text(item.selectFirst(".product-line-info a")));
+            line.put("quantity", quantity == null ? "" : quantity.val());
+            line.put("unitPrice", text(item.selectFirst(".product-line-info .current-price .price, .product-line-info .price")));
+            Element lineTotal = item.selectFirst(".product-price strong");
+            line.put("lineTotal", text(lineTotal != null ? lineTotal : item.selectFirst(".product-price")));
+            lines.add(line);
+        }
+
+        Element noItems = context.document().selectFirst("#main .no-items");
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("lines", lines);
+        snapshot.put("subtotal", text(context.document().selectFirst(
+                "#cart-subtotal-products .value, .cart-summary-line.cart-subtotal .value, .cart-subtotal .value")));
+        snapshot.put("total", text(context.document().selectFirst(".cart-total .value")));
+        snapshot.put("itemCount", text(context.document().selectFirst(".cart-products-count")));
+        snapshot.put("empty", noItems != null && isShown(context, noItems));
+        return snapshot;
+    }
+
+    private Map<String, Object> networkAwait(BrowsingContext context, long baseline) {
+        long started = context.networkStarted();
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("settled", true);
+        state.put("started", Math.max(started, 0));
+        state.put("requestObserved", started > baseline);
+        state.put("hookLost", started < 0 && baseline >= 0);
+        return state;
+    }
+
+    private Map<String, Object> domWatch(BrowsingContext context, String selector, String mode, Object reference) {
+        Element element = context.document().selectFirst(selector);
+        if (element == null) return null;
+
+        String text = element.text();
+        boolean matched = switch (mode) {
+            case "appear" -> isShown(context, element);
+            case "text-change" -> !text.equals(reference);
+            default -> {
+                String digits = text.replaceAll("[^0-9]", "");
+                yield !digits.isEmpty() && ParseUtils.parseCount(digits) > ((Number) reference).intValue();
+            }
+        };
+        return matched ? Map.of("text", text) : null;
+    }
+
+    private Element firstShown(BrowsingContext context, String selector) {
+        for (Element element : context.document().select(selector)) {
+            if (isShown(context, element)) return element;
+        }
+        return null;
+    }
+
+    private boolean isShown(BrowsingContext context, Element element) {
+        return new InMemoryElement(driver, context, element).isDisplayed();
+    }
+
+    private static InMemoryElement element(Object[] args, int index) {
+        if (args.length > index && args[index] instanceof InMemoryElement element) {
+            return element;
+        }
+        throw new JavascriptException("Expected an in-memory element at arguments[" + index + "]");
+    }
+
+    private static String text(Element element) {
+        return element == null ? "" : element.text();
+    }
+
+    private static String firstLine(String script) {
+        return script.strip().lines().findFirst().orElse("");
+    }
+}
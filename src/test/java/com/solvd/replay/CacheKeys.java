@@ -0,0 +1,68 @@
+package com.solvd.replay;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public final class CacheKeys {
+
+    private static final Set<String> VOLATILE_PARAMETERS = Set.of(
+            "token", "static_token", "_", "rand", "time", "timestamp", "ts", "nocache", "preview"
+    );
+
+    private CacheKeys() {
+    }
+
+    public static String of(String method, URI target, String body) {
+        StringBuilder key = new StringBuilder()
+                .append(method.toUpperCase(Locale.ROOT)).append(' ')
+                .append(target.getHost() == null ? "" : target.getHost().toLowerCase(Locale.ROOT))
+                .append(target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath());
+
+        String query = normalizeParameters(target.getRawQuery());
+        if (!query.isEmpty()) {
+            key.append('?').append(query);
+        }
+
+        String form = normalizeParameters(body);
+        if (!form.isEmpty()) {
+            key.append(" body:").append(form);
+        }
+        return key.toString();
+    }
+
+    static String normalizeParameters(String raw) {
+        if (raw == null || raw.isBlank()) return "";
+
+        TreeMap<String, String> kept = new TreeMap<>();
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+            if (isVolatile(name)) continue;
+            String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+            kept.merge(name, value, (first, second) -> first + "," + second);
+        }
+
+        return kept.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&"));
+    }
+
+    private static boolean isVolatile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return VOLATILE_PARAMETERS.contains(lower) || lower.endsWith("_token");
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+}
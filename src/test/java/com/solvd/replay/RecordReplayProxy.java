@@ -0,0 +1,294 @@
+package com.solvd.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RecordReplayProxy implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecordReplayProxy.class);
+
+    private static final String HOST_PREFIX = "/_host/";
+    private static final String SESSION_COOKIE = "solvd_replay_session";
+    private static final Set<String> KEPT_HEADERS = Set.of("content-type", "location", "cache-control");
+    private static final Set<String> REWRITTEN_TYPES = Set.of("html", "javascript", "css", "json", "xml");
+    private static final Duration UPSTREAM_TIMEOUT = Duration.ofSeconds(60);
+    private static final int STOP_DELAY_SEC = 0;
+
+    public enum Mode {
+        RECORD, REPLAY
+    }
+
+    private record Session(String id, boolean isNew, CookieManager cookies, Map<String, AtomicInteger> occurrences) {
+
+        Session(String id) {
+            this(id, true, new CookieManager(null, CookiePolicy.ACCEPT_ALL), new ConcurrentHashMap<>());
+        }
+
+        Session existing() {
+            return new Session(id, false, cookies, occurrences);
+        }
+    }
+
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Mode mode;
+    private final URI upstream;
+    private final Pattern absoluteUrls;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    private final Map<String, Integer> recordedCounts = new ConcurrentHashMap<>();
+
+    private HttpClient client;
+    private ReplayStoreWriter writer;
+    private ReplayStore store;
+
+    private RecordReplayProxy(Mode mode, URI upstream, Path storeFile, int port) throws IOException {
+        this.mode = mode;
+        this.upstream = upstream;
+        this.absoluteUrls = Pattern.compile("(?:https?:)?(?:\\\\?/){2}((?:[a-z0-9-]+\\.)*" + Pattern.quote(siteDomain(upstream.getHost())) + ")",
+                Pattern.CASE_INSENSITIVE);
+
+        if (mode == Mode.RECORD) {
+            this.writer = ReplayStoreWriter.create(storeFile);
+            this.client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(UPSTREAM_TIMEOUT)
+                    .build();
+        } else {
+            this.store = ReplayStore.open(storeFile);
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static RecordReplayProxy start(Mode mode, String upstreamUrl, Path storeFile, int port) {
+        try {
+            RecordReplayProxy proxy = new RecordReplayProxy(mode, URI.create(upstreamUrl), storeFile, port);
+            proxy.server.start();
+            LOGGER.info("{} proxy for {} listening on {} (store: {})", mode, upstreamUrl, proxy.baseUrl(), storeFile);
+            return proxy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start " + mode + " proxy on port " + port, e);
+        }
+    }
+
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + "/";
+    }
+
+    public String localUrlFor(String upstreamUrl) {
+        URI target = URI.create(upstreamUrl);
+        String path = target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+        String query = target.getRawQuery() == null ? "" : "?" + target.getRawQuery();
+        return localOrigin(target.getHost()) + path + query;
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SEC);
+        executor.shutdownNow();
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            URI target = upstreamTarget(exchange.getRequestURI());
+            String body = readBody(exchange);
+            String key = CacheKeys.of(exchange.getRequestMethod(), target, body);
+            Session session = session(exchange);
+            int occurrence = session.occurrences().computeIfAbsent(key, ignored -> new AtomicInteger()).getAndIncrement();
+
+            RecordedResponse response = mode == Mode.RECORD
+                    ? record(exchange, session, target, body, key, occurrence)
+                    : store.find(key, occurrence).orElse(null);
+            if (session.isNew()) {
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session.id() + "; Path=/");
+            }
+
+            if (response == null) {
+                LOGGER.warn("No recorded response for {}", key);
+                respond(exchange, 504, Map.of("Content-Type", List.of("text/plain; charset=utf-8")),
+                        ("Not recorded: " + key).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            respond(exchange, response.status(), response.headers(), rewrite(response));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 502, Map.of(), new byte[0]);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Proxy failed to serve {}", exchange.getRequestURI(), e);
+            respond(exchange, 502, Map.of(), new byte[0]);
+        }
+    }
+
+    private Session session(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String pair : header.split(";")) {
+                String[] parts = pair.trim().split("=", 2);
+                if (parts.length == 2 && SESSION_COOKIE.equals(parts[0])) {
+                    Session known = sessions.computeIfAbsent(parts[1], Session::new);
+                    return known.existing();
+                }
+            }
+        }
+        Session created = new Session("s" + sessionIds.incrementAndGet());
+        sessions.put(created.id(), created);
+        return created;
+    }
+
+    private RecordedResponse record(HttpExchange exchange, Session session, URI target, String body, String key,
+                                    int occurrence) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(target).timeout(UPSTREAM_TIMEOUT);
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        session.cookies().get(target, Map.of()).forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                request.header(name, String.join("; ", values));
+            }
+        });
+        request.method(exchange.getRequestMethod(), body.isEmpty()
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+
+        HttpResponse<byte[]> upstreamResponse = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        session.cookies().put(target, upstreamResponse.headers().map());
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        upstreamResponse.headers().map().forEach((name, values) -> {
+            if (KEPT_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+
+        RecordedResponse response = new RecordedResponse(upstreamResponse.statusCode(), headers, upstreamResponse.body());
+        appendInOrder(key, occurrence, response);
+        return response;
+    }
+
+    private void appendInOrder(String key, int occurrence, RecordedResponse response) {
+        recordedCounts.compute(key, (ignored, count) -> {
+            int recorded = count == null ? 0 : count;
+            if (occurrence != recorded) return recorded;
+
+            writer.append(key, response);
+            return recorded + 1;
+        });
+    }
+
+    private URI upstreamTarget(URI requestUri) {
+        if (requestUri.isAbsolute()) {
+            return requestUri;
+        }
+
+        String path = requestUri.getRawPath();
+        String query = requestUri.getRawQuery() == null ? "" : "?" + requestUri.getRawQuery();
+        if (path.startsWith(HOST_PREFIX)) {
+            int hostEnd = path.indexOf('/', HOST_PREFIX.length());
+            String host = hostEnd < 0 ? path.substring(HOST_PREFIX.length()) : path.substring(HOST_PREFIX.length(), hostEnd);
+            String rest = hostEnd < 0 ? "/" : path.substring(hostEnd);
+            return URI.create(upstream.getScheme() + "://" + host + rest + query);
+        }
+        return URI.create(upstream.getScheme() + "://" + upstream.getRawAuthority() + path + query);
+    }
+
+    private byte[] rewrite(RecordedResponse response) {
+        String contentType = response.header("Content-Type");
+        boolean textual = contentType != null && REWRITTEN_TYPES.stream().anyMatch(contentType.toLowerCase(Locale.ROOT)::contains);
+        if (!textual) return response.body();
+
+        String text = new String(response.body(), StandardCharsets.UTF_8);
+        Matcher matcher = absoluteUrls.matcher(text);
+        StringBuilder rewritten = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String origin = localOrigin(matcher.group(1));
+            boolean escaped = matcher.group().contains("\\/");
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(escaped ? origin.replace("/", "\\/") : origin));
+        }
+        matcher.appendTail(rewritten);
+        return rewritten.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String localOrigin(String host) {
+        String base = baseUrl();
+        String origin = base.substring(0, base.length() - 1);
+        return host.equalsIgnoreCase(upstream.getHost()) ? origin : origin + HOST_PREFIX + host.toLowerCase(Locale.ROOT);
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body) throws IOException {
+        headers.forEach((name, values) -> {
+            if (!"location".equalsIgnoreCase(name)) {
+                exchange.getResponseHeaders().put(name, values);
+            }
+        });
+        String location = RecordedResponse.header(headers, "Location");
+        if (location != null) {
+            String rewritten = absoluteUrls.matcher(location).replaceFirst(m -> Matcher.quoteReplacement(localOrigin(m.group(1))));
+            exchange.getResponseHeaders().set("Location", rewritten);
+        }
+
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String siteDomain(String host) {
+        String[] labels = host.toLowerCase(Locale.ROOT).split("\\.");
+        return labels.length <= 2 ? host : labels[labels.length - 2] + "." + labels[labels.length - 1];
+    }
+}
@@ -0,0 +1,24 @@
+package com.solvd.replay;
+
+import java.util.List;
+import java.util.Map;
+
+public record RecordedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+    public RecordedResponse {
+        headers = Map.copyOf(headers);
+    }
+
+    public String header(String name) {
+        return header(headers, name);
+    }
+
+    static String header(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
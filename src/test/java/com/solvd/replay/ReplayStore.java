@@ -0,0 +1,97 @@
+package com.solvd.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class ReplayStore {
+
+    static final int MAGIC = 0x53525031;
+    static final int VERSION = 1;
+    static final int ENTRY_COUNT_POSITION = Integer.BYTES * 2;
+
+    private final MappedByteBuffer buffer;
+    private final Map<String, long[]> offsets;
+
+    private ReplayStore(MappedByteBuffer buffer, Map<String, long[]> offsets) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    public static ReplayStore open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IllegalStateException("Not a replay store: " + file);
+            }
+
+            int entryCount = buffer.getInt(ENTRY_COUNT_POSITION);
+            long indexOffset = buffer.getLong(ENTRY_COUNT_POSITION + Integer.BYTES);
+            return new ReplayStore(buffer, readIndex(buffer, Math.toIntExact(indexOffset), entryCount));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open replay store " + file, e);
+        }
+    }
+
+    public int size() {
+        return offsets.values().stream().mapToInt(entries -> entries.length).sum();
+    }
+
+    public boolean contains(String key) {
+        return offsets.containsKey(key);
+    }
+
+    public Optional<RecordedResponse> find(String key, int occurrence) {
+        long[] entries = offsets.get(key);
+        if (entries == null) return Optional.empty();
+
+        long offset = entries[Math.min(occurrence, entries.length - 1)];
+        return Optional.of(readEntry(Math.toIntExact(offset)));
+    }
+
+    private RecordedResponse readEntry(int offset) {
+        ByteBuffer entry = buffer.duplicate().position(offset);
+        int status = entry.getInt();
+
+        int headerCount = entry.getShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = readString(entry);
+            headers.computeIfAbsent(name, ignored -> new ArrayList<>()).add(readString(entry));
+        }
+
+        byte[] body = new byte[entry.getInt()];
+        entry.get(body);
+        return new RecordedResponse(status, headers, body);
+    }
+
+    private static Map<String, long[]> readIndex(ByteBuffer buffer, int indexOffset, int entryCount) {
+        ByteBuffer index = buffer.duplicate().position(indexOffset);
+        Map<String, List<Long>> grouped = new LinkedHashMap<>();
+        for (int i = 0; i < entryCount; i++) {
+            String key = readString(index);
+            grouped.computeIfAbsent(key, ignored -> new ArrayList<>()).add(index.getLong());
+        }
+
+        Map<String, long[]> offsets = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, entries) -> offsets.put(key, entries.stream().mapToLong(Long::longValue).toArray()));
+        return offsets;
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.solvd.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class ReplayStoreWriter implements AutoCloseable {
+
+    private final Path target;
+    private final Path temporary;
+    private final DataOutputStream out;
+    private final List<IndexEntry> index = new ArrayList<>();
+
+    private ReplayStoreWriter(Path target) throws IOException {
+        this.target = target;
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        this.temporary = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)));
+
+        out.writeInt(ReplayStore.MAGIC);
+        out.writeInt(ReplayStore.VERSION);
+        out.writeInt(0);
+        out.writeLong(0);
+    }
+
+    public static ReplayStoreWriter create(Path target) {
+        try {
+            return new ReplayStoreWriter(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create replay store " + target, e);
+        }
+    }
+
+    public synchronized void append(String key, RecordedResponse response) {
+        try {
+            index.add(new IndexEntry(key, out.size()));
+            out.writeInt(response.status());
+
+            int headerCount = response.headers().values().stream().mapToInt(List::size).sum();
+            out.writeShort(headerCount);
+            for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+                for (String value : header.getValue()) {
+                    writeString(header.getKey());
+                    writeString(value);
+                }
+            }
+
+            out.writeInt(response.body().length);
+            out.write(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to replay store " + target, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            long indexOffset = out.size();
+            for (IndexEntry entry : index) {
+                writeString(entry.key());
+                out.writeLong(entry.offset());
+            }
+            out.close();
+
+            try (RandomAccessFile file = new RandomAccessFile(temporary.toFile(), "rw")) {
+                file.seek(ReplayStore.ENTRY_COUNT_POSITION);
+                file.writeInt(index.size());
+                file.writeLong(indexOffset);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot finish replay store " + target, e);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private record IndexEntry(String key, long offset) {
+    }
+}
@@ -9,15 +9,14 @@ import org.testng.asserts.SoftAssert;
 
 public class AndroidContextTests extends AbstractTest {
 
-    private SoftAssert softly;
-
-    @BeforeMethod
-    public void initSoftAssert() {
-        softly = new SoftAssert();
+    @BeforeMethod(alwaysRun = true)
+    public void resetSoftAssert() {
+        SoftAssertions.reset();
     }
 
     @Test
     public void verifyContextSwitching() {
+        SoftAssert softly = SoftAssertions.current();
         MobileContextUtils contextUtils = new MobileContextUtils();
 
         HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
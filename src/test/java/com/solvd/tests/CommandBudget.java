@@ -0,0 +1,17 @@
+package com.solvd.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CommandBudget {
+
+    long UNLIMITED = -1;
+
+    long commands() default UNLIMITED;
+
+    long millis() default UNLIMITED;
+}
@@ -0,0 +1,127 @@
+package com.solvd.tests;
+
+import com.solvd.metrics.CommandMetrics;
+import com.solvd.metrics.LatencyHistogram;
+import com.zebrunner.carina.utils.R;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class CommandBudgetListener implements IInvokedMethodListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandBudgetListener.class);
+
+    private static final String MODE_KEY = "command_budget.mode";
+    private static final String KEY_PREFIX = "command_budget.";
+    private static final String COMMANDS_SUFFIX = ".commands";
+    private static final String MILLIS_SUFFIX = ".millis";
+    private static final int TOP_COMMANDS = 5;
+
+    private static final ThreadLocal<Long> STARTED = new ThreadLocal<>();
+
+    public enum Mode {
+        FAIL, WARN, OFF
+    }
+
+    public record Budget(long commands, long millis) {
+
+        boolean limitsCommands() {
+            return commands >= 0;
+        }
+
+        boolean limitsMillis() {
+            return millis >= 0;
+        }
+    }
+
+    public static Mode mode() {
+        String mode = R.CONFIG.get(MODE_KEY);
+        return mode == null || mode.isBlank() ? Mode.WARN : Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public static Optional<Budget> budgetFor(Method method) {
+        if (mode() == Mode.OFF) return Optional.empty();
+
+        CommandBudget annotation = method.getAnnotation(CommandBudget.class);
+        String key = KEY_PREFIX + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        long commands = configured(key + COMMANDS_SUFFIX, annotation == null ? CommandBudget.UNLIMITED : annotation.commands());
+        long millis = configured(key + MILLIS_SUFFIX, annotation == null ? CommandBudget.UNLIMITED : annotation.millis());
+
+        Budget budget = new Budget(commands, millis);
+        return budget.limitsCommands() || budget.limitsMillis() ? Optional.of(budget) : Optional.empty();
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            STARTED.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) return;
+
+        Long started = STARTED.get();
+        STARTED.remove();
+        if (started == null || testResult.getStatus() != ITestResult.SUCCESS) return;
+
+        Method testMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        Optional<Budget> budget = budgetFor(testMethod);
+        if (budget.isEmpty()) return;
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        Optional<CommandMetrics.Snapshot> snapshot = CommandMetrics.current();
+        if (snapshot.isEmpty() && budget.get().limitsCommands()) {
+            LOGGER.warn("{}: command budget set but no commands were recorded; is the driver decorated?",
+                    testMethod.getName());
+        }
+
+        List<String> violations = new ArrayList<>();
+        long commands = snapshot.map(CommandMetrics.Snapshot::commandCount).orElse(0L);
+        if (budget.get().limitsCommands() && snapshot.isPresent() && commands > budget.get().commands()) {
+            violations.add(commands + " WebDriver commands, budget " + budget.get().commands());
+        }
+        if (budget.get().limitsMillis() && elapsedMillis > budget.get().millis()) {
+            violations.add(elapsedMillis + " ms, budget " + budget.get().millis() + " ms");
+        }
+        if (violations.isEmpty()) {
+            LOGGER.debug("{}: {} commands in {} ms within budget {}", testMethod.getName(), commands, elapsedMillis, budget.get());
+            return;
+        }
+
+        String message = testMethod.getName() + " exceeded its command budget: " + String.join("; ", violations)
+                + snapshot.map(CommandBudgetListener::topCommands).orElse("");
+        if (mode() == Mode.FAIL) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(message));
+        } else {
+            LOGGER.warn(message);
+        }
+    }
+
+    private static String topCommands(CommandMetrics.Snapshot snapshot) {
+        return snapshot.commands().entrySet().stream()
+                .sorted(Map.Entry.<CommandMetrics.Key, LatencyHistogram.Summary>comparingByValue(
+                        (a, b) -> Long.compare(b.count(), a.count())))
+                .limit(TOP_COMMANDS)
+                .map(e -> String.format(Locale.ROOT, "%n  %4d x %s at %s via %s", e.getValue().count(),
+                        e.getKey().command(), e.getKey().site(), e.getKey().entry()))
+                .collect(Collectors.joining("", System.lineSeparator() + "Most frequent commands:", ""));
+    }
+
+    private static long configured(String key, long fallback) {
+        String value = R.CONFIG.get(key);
+        return value == null || value.isBlank() ? fallback : Long.parseLong(value.trim());
+    }
+}
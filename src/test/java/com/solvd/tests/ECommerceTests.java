@@ -4,7 +4,8 @@ import com.solvd.pages.common.CartPageBase;
 import com.solvd.pages.common.HomePageBase;
 import com.solvd.pages.common.ProductPageBase;
 import com.solvd.pages.common.SearchResultsPageBase;
-import com.zebrunner.carina.core.AbstractTest;
+import com.solvd.pages.common.StorefrontNavigator;
+import com.solvd.utils.TextUtils;
 import com.zebrunner.carina.utils.R;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,99 +13,105 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
-import org.testng.asserts.SoftAssert;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.solvd.utils.TextUtils.normalizeText;
 
-public class ECommerceTests extends AbstractTest {
+public class ECommerceTests extends StorefrontTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ECommerceTests.class);
 
-    private SoftAssert softly;
-
     @Parameters({"capabilities.browserName"})
     @BeforeMethod(alwaysRun = true)
     public void setBrowserName(@Optional("") String browserName) {
-        if (browserName != null && !browserName.isBlank()) {
+        if (browserName != null && !browserName.isBlank() && !browserName.equals(R.CONFIG.get("capabilities.browserName"))) {
             R.CONFIG.put("capabilities.browserName", browserName, true);
         }
     }
 
-    @BeforeMethod
-    public void initSoftAssert() {
-        softly = new SoftAssert();
-    }
-
     @Test
+    @CommandBudget(commands = 150, millis = 60_000)
     public void verifySuccessfulProductSearch() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-        String query = homePage.getSearchKeywordFromHome();
+        HomePageBase homePage = navigate(StorefrontNavigator.Mode.UI).home();
+        String query = catalog().searchKeyword();
 
         SearchResultsPageBase resultsPage = homePage.search(query);
 
-        softly.assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
+        softly().assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
 
         int count = resultsPage.getVisibleProductCardCount();
 
-        softly.assertTrue(count > 0, "Number of displayed product cards should be > 0");
+        softly().assertTrue(count > 0, "Number of displayed product cards should be > 0");
         resultsPage.getVisibleProductTitles()
                 .forEach(title -> LOGGER.info("Displayed product title: {}", title));
-        softly.assertTrue(resultsPage.hasAnyProductTitleContaining(query), "At least one product title should contain '" + query);
-
-        softly.assertAll();
+        softly().assertTrue(resultsPage.hasAnyProductTitleContaining(query), "At least one product title should contain '" + query);
+
+        catalog().crawledResultTitlesFor(query).ifPresent(crawled -> {
+            Set<String> expectedTitles = crawled.stream()
+                    .map(TextUtils::normalizeText)
+                    .collect(Collectors.toSet());
+            List<String> unexpectedTitles = resultsPage.getVisibleProductTitles().stream()
+                    .filter(title -> !expectedTitles.contains(normalizeText(title)))
+                    .toList();
+            softly().assertTrue(unexpectedTitles.isEmpty(),
+                    "Results outside the crawled search results for '" + query + "': " + unexpectedTitles);
+        });
+
+        softly().assertAll();
     }
 
     @Test
+    @CommandBudget(commands = 100, millis = 60_000)
     public void verifyProductSearchWithNoResults() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-
         String query = "wkjnefjnfinerifgnrenfgjnrbvbvbvbvbvbvbbvbvbvbvbbvbvbv";
-        SearchResultsPageBase resultsPage = homePage.search(query);
+        SearchResultsPageBase resultsPage = navigate().search(query);
 
-        softly.assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
-        softly.assertTrue(resultsPage.isNoMatchesMessageDisplayed(), "No matches message should be displayed.");
-        softly.assertEquals(resultsPage.getVisibleProductCardCount(), 0,
+        softly().assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
+        softly().assertTrue(resultsPage.isNoMatchesMessageDisplayed(), "No matches message should be displayed.");
+        softly().assertEquals(resultsPage.getVisibleProductCardCount(), 0,
                 "Displayed product cards should be 0 for a no-results search.");
 
-        softly.assertAll();
+        softly().assertAll();
     }
 
     @Test
+    @CommandBudget(commands = 220, millis = 90_000)
     public void verifyProductDetailsPageOpensFromSearchResults() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-        String query = homePage.getSearchKeywordFromHome();
+        String query = catalog().searchKeyword();
 
-        SearchResultsPageBase resultsPage = homePage.search(query);
-        softly.assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
-        softly.assertTrue(resultsPage.getVisibleProductCardCount() > 0,
+        SearchResultsPageBase resultsPage = navigate().search(query);
+        softly().assertTrue(resultsPage.isPageOpened(), "Results page not displayed.");
+        softly().assertTrue(resultsPage.getVisibleProductCardCount() > 0,
                 "Search should return at least 1 product.");
 
         String clickedTitle = resultsPage.getFirstVisibleProductTitle();
-        softly.assertFalse(normalizeText(clickedTitle).isEmpty(), "Clicked product title is empty.");
+        softly().assertFalse(normalizeText(clickedTitle).isEmpty(), "Clicked product title is empty.");
 
         ProductPageBase productPage = resultsPage.openFirstVisibleProduct();
 
-        softly.assertTrue(productPage.isAddToCartButtonPresent(),
+        softly().assertTrue(productPage.isAddToCartButtonPresent(),
                 "Add to cart button is not visible/enabled.");
 
         String pdpTitle = productPage.getTitle();
-        softly.assertFalse(normalizeText(pdpTitle).isEmpty(), "PDP title is empty.");
+        softly().assertFalse(normalizeText(pdpTitle).isEmpty(), "PDP title is empty.");
 
-        softly.assertTrue(
+        softly().assertTrue(
                 normalizeText(pdpTitle).contains(normalizeText(clickedTitle)) ||
                         normalizeText(clickedTitle).contains(normalizeText(pdpTitle)),
                 "PDP title should match/contain clicked product title."
         );
 
-        softly.assertAll();
+        softly().assertAll();
     }
 
     @Test
+    @CommandBudget(commands = 220, millis = 90_000)
     public void verifyAddToCartFromProductDetailsPage() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-        ProductPageBase productPage = homePage.openFirstProduct();
+        ProductPageBase productPage = navigate().featuredProduct();
 
         String pdpTitle = productPage.getTitle();
         int before = productPage.getCartCount();
@@ -112,33 +119,26 @@ public class ECommerceTests extends AbstractTest {
         productPage.selectRequiredOptionsIfPresent();
         productPage.addProductToCart();
 
-        softly.assertTrue(productPage.isAddToCartModalDisplayed(), "Add-to-cart modal not displayed.");
-        softly.assertTrue(productPage.getModalItemsCount() > 0, "Modal cart items count should be > 0.");
+        softly().assertTrue(productPage.isAddToCartModalDisplayed(), "Add-to-cart modal not displayed.");
+        softly().assertTrue(productPage.getModalItemsCount() > 0, "Modal cart items count should be > 0.");
 
-        softly.assertEquals(
+        softly().assertEquals(
                 normalizeText(productPage.getModalProductName()),
                 normalizeText(pdpTitle),
                 "Modal shows incorrect product name (should match PDP title)."
         );
 
         int after = productPage.waitForCartCountToBeIncremented(before);
-        softly.assertTrue(after > before, "Cart count should increase after add to cart.");
+        softly().assertTrue(after > before, "Cart count should increase after add to cart.");
 
-        softly.assertAll();
+        softly().assertAll();
     }
 
     @Test
+    @CommandBudget(commands = 250, millis = 90_000)
     public void verifyCartQuantityUpdateRecalculatesTotals() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-
-        ProductPageBase productPage = homePage.openFirstProduct();
-        productPage.selectRequiredOptionsIfPresent();
-        productPage.addProductToCart();
-
-        softly.assertTrue(productPage.isAddToCartModalDisplayed(), "Add-to-cart modal not displayed.");
-
-        CartPageBase cartPage = productPage.openCartFromModal();
-        softly.assertTrue(cartPage.isPageOpened(), "Cart page not displayed (cart lines not visible).");
+        CartPageBase cartPage = openSeededCart(1, this::addFeaturedProductToCart);
+        softly().assertTrue(cartPage.isPageOpened(), "Cart page not displayed (cart lines not visible).");
 
         BigDecimal subtotal1 = cartPage.getProductsSubtotal();
         BigDecimal total1 = cartPage.getTotal();
@@ -146,38 +146,63 @@ public class ECommerceTests extends AbstractTest {
         int targetQuantity = 2;
         cartPage.increaseQuantityTo(targetQuantity);
 
-        softly.assertEquals(cartPage.getQuantity(), targetQuantity, "Quantity value was not updated.");
+        softly().assertEquals(cartPage.getQuantity(), targetQuantity, "Quantity value was not updated.");
 
         BigDecimal subtotal2 = cartPage.getProductsSubtotal();
         BigDecimal total2 = cartPage.getTotal();
 
-        softly.assertTrue(subtotal2.compareTo(subtotal1) > 0, "Products subtotal should change after quantity increase.");
-        softly.assertTrue(total2.compareTo(total1) > 0, "Total should increase after quantity increase.");
+        softly().assertTrue(subtotal2.compareTo(subtotal1) > 0, "Products subtotal should change after quantity increase.");
+        softly().assertTrue(total2.compareTo(total1) > 0, "Total should increase after quantity increase.");
 
-        softly.assertAll();
+        softly().assertAll();
     }
 
     @Test
-    public void verifyCartIsEmptyAfterRemovingLastProduct() {
-        HomePageBase homePage = initPage(getDriver(), HomePageBase.class);
-        ProductPageBase productPage = homePage.openFirstProduct();
+    @CommandBudget(commands = 200, millis = 90_000)
+    public void verifyCartQuantityCanBeTypedDirectly() {
+        CartPageBase cartPage = openSeededCart(1, this::addFeaturedProductToCart);
+        softly().assertTrue(cartPage.isPageOpened(), "Cart page not displayed (cart lines not visible).");
 
-        productPage.selectRequiredOptionsIfPresent();
-        productPage.addProductToCart();
+        BigDecimal unitSubtotal = cartPage.getProductsSubtotal();
+        BigDecimal total1 = cartPage.getTotal();
 
-        softly.assertTrue(productPage.isAddToCartModalDisplayed(), "Add-to-cart modal not displayed.");
+        int targetQuantity = 3;
+        cartPage.setQuantity(targetQuantity);
 
-        CartPageBase cartPage = productPage.openCartFromModal();
+        softly().assertEquals(cartPage.getQuantity(), targetQuantity, "Typed quantity was not applied to the cart line.");
+        softly().assertEquals(cartPage.getCartLinesCount(), 1, "Typing a quantity should not add cart lines.");
+        softly().assertEquals(cartPage.getCartItemsCount(), targetQuantity, "Cart quantity indicator should match the typed quantity.");
+        softly().assertEquals(cartPage.getProductsSubtotal().compareTo(unitSubtotal.multiply(BigDecimal.valueOf(targetQuantity))), 0,
+                "Products subtotal should be the unit price times the typed quantity.");
+        softly().assertTrue(cartPage.getTotal().compareTo(total1) > 0, "Total should increase after typing a larger quantity.");
+
+        softly().assertAll();
+    }
+
+    @Test
+    @CommandBudget(commands = 200, millis = 90_000)
+    public void verifyCartIsEmptyAfterRemovingLastProduct() {
+        CartPageBase cartPage = openSeededCart(1, this::addFeaturedProductToCart);
 
-        softly.assertTrue(cartPage.isPageOpened(), "Cart page not displayed.");
-        softly.assertTrue(cartPage.getCartLinesCount() > 0, "Cart should have at least 1 product line.");
+        softly().assertTrue(cartPage.isPageOpened(), "Cart page not displayed.");
+        softly().assertTrue(cartPage.getCartLinesCount() > 0, "Cart should have at least 1 product line.");
 
         cartPage.removeFirstLine();
 
-        softly.assertEquals(cartPage.getCartLinesCount(), 0, "Product line should be removed from the cart.");
-        softly.assertTrue(cartPage.isEmptyCartMessageDisplayed(), "Empty cart message should be displayed.");
-        softly.assertEquals(cartPage.cartCountElement(), 0, "Cart quantity indicator should be 0.");
+        softly().assertEquals(cartPage.getCartLinesCount(), 0, "Product line should be removed from the cart.");
+        softly().assertTrue(cartPage.isEmptyCartMessageDisplayed(), "Empty cart message should be displayed.");
+        softly().assertEquals(cartPage.getCartItemsCount(), 0, "Cart quantity indicator should be 0.");
+
+        softly().assertAll();
+    }
+
+    private CartPageBase addFeaturedProductToCart() {
+        ProductPageBase productPage = navigate().featuredProduct();
+
+        productPage.selectRequiredOptionsIfPresent();
+        productPage.addProductToCart();
 
-        softly.assertAll();
+        softly().assertTrue(productPage.isAddToCartModalDisplayed(), "Add-to-cart modal not displayed.");
+        return productPage.openCartFromModal();
     }
-}
\ No newline at end of file
+}
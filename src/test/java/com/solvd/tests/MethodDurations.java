@@ -0,0 +1,85 @@
+package com.solvd.tests;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class MethodDurations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodDurations.class);
+    private static final double SMOOTHING = 0.3;
+
+    private final Path file;
+    private final Map<String, Long> millis = new ConcurrentHashMap<>();
+
+    private MethodDurations(Path file) {
+        this.file = file;
+    }
+
+    public static MethodDurations load(Path file) {
+        MethodDurations durations = new MethodDurations(file);
+        if (!Files.isRegularFile(file)) return durations;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot read method durations from {}, balancing shards by count", file, e);
+            return durations;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                durations.millis.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Ignoring malformed duration for {}", key);
+            }
+        }
+        return durations;
+    }
+
+    public static String key(Class<?> testClass, String methodName) {
+        return testClass.getName() + "#" + methodName;
+    }
+
+    public OptionalLong expected(String key) {
+        Long value = millis.get(key);
+        return value == null ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    public long median(long fallback) {
+        long[] sorted = millis.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted.length == 0 ? fallback : sorted[sorted.length / 2];
+    }
+
+    public void record(String key, long observedMillis) {
+        millis.merge(key, observedMillis,
+                (previous, observed) -> Math.round(previous * (1 - SMOOTHING) + observed * SMOOTHING));
+    }
+
+    public void save() {
+        StringBuilder content = new StringBuilder("# Smoothed test method durations in ms, used to balance shards\n");
+        new TreeMap<>(millis).forEach((key, value) -> content.append(key).append('=').append(value).append('\n'));
+
+        try {
+            Path absolute = file.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temp = Files.createTempFile(absolute.getParent(), file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save method durations to " + file, e);
+        }
+    }
+}
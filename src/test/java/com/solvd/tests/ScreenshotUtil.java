@@ -1,22 +1,65 @@
 package com.solvd.tests;
 
+import com.zebrunner.carina.utils.R;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ScreenshotUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotUtil.class);
     private static final String SCREENSHOT_DIR = "screenshots/";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+
+    private static final String QUEUE_CAPACITY_KEY = "screenshot.queue_capacity";
+    private static final String MAX_WIDTH_KEY = "screenshot.max_width";
+    private static final String FORMAT_KEY = "screenshot.format";
+    private static final String JPEG_QUALITY_KEY = "screenshot.jpeg_quality";
+    private static final int DEFAULT_QUEUE_CAPACITY = 32;
+    private static final float DEFAULT_JPEG_QUALITY = 0.8f;
+
+    private static final ThreadPoolExecutor WRITER = createWriter();
+    private static final Map<String, Previous> PREVIOUS = new ConcurrentHashMap<>();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong DUPLICATES = new AtomicLong();
+
+    private record Previous(byte[] digest, Path file) {
+    }
+
+    private record Capture(byte[] png, String testName, String browser, String stream, LocalDateTime takenAt) {
+    }
 
     static {
         createScreenshotDirectory();
@@ -41,16 +84,153 @@ public class ScreenshotUtil {
         }
 
         try {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String filename = String.format("%s_%s_%s.png", testName, browser, timestamp);
-            Path filepath = Paths.get(SCREENSHOT_DIR, filename);
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            Capture capture = new Capture(png, testName, browser, browser + "@" + Thread.currentThread().getName(),
+                    LocalDateTime.now());
+            WRITER.execute(() -> write(capture));
+        } catch (Exception e) {
+            LOGGER.error("Failed to capture screenshot for test: {}", testName, e);
+        }
+    }
+
+    public static boolean awaitPendingWrites(Duration timeout) {
+        CountDownLatch drained = new CountDownLatch(1);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            if (!WRITER.getQueue().offer(drained::countDown, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                LOGGER.warn("Screenshot writer queue stayed full for {} ms, not waiting for pending writes", timeout.toMillis());
+                return false;
+            }
+            return drained.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            if (DROPPED.get() > 0 || DUPLICATES.get() > 0) {
+                LOGGER.info("Screenshots skipped so far: {} identical to the previous capture, {} dropped on a full queue",
+                        DUPLICATES.get(), DROPPED.get());
+            }
+        }
+    }
+
+    private static void write(Capture capture) {
+        try {
+            String stream = capture.stream();
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(capture.png());
+            Previous previous = PREVIOUS.get(stream);
+            if (previous != null && Arrays.equals(previous.digest(), digest)) {
+                DUPLICATES.incrementAndGet();
+                LOGGER.info("Screenshot for {} identical to {}, not saved again", capture.testName(), previous.file());
+                return;
+            }
 
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            Files.copy(screenshot.toPath(), filepath);
+            String format = configuredFormat();
+            byte[] encoded = encode(capture.png(), format);
+            String basename = String.format("%s_%s_%s", capture.testName(), capture.browser(),
+                    capture.takenAt().format(TIMESTAMP));
+            Path filepath = writeNew(basename, format, encoded);
+            PREVIOUS.put(stream, new Previous(digest, filepath));
 
             LOGGER.info("Screenshot saved: {}", filepath.toAbsolutePath());
-        } catch (Exception e) {
-            LOGGER.error("Failed to capture screenshot for test: {}", testName, e);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            LOGGER.error("Failed to write screenshot for test: {}", capture.testName(), e);
+        }
+    }
+
+    private static Path writeNew(String basename, String format, byte[] encoded) throws IOException {
+        for (int sequence = 0; ; sequence++) {
+            Path filepath = Paths.get(SCREENSHOT_DIR, (sequence == 0 ? basename : basename + "_" + sequence) + "." + format);
+            try {
+                Files.write(filepath, encoded, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                return filepath;
+            } catch (FileAlreadyExistsException e) {
+                LOGGER.debug("Screenshot {} already exists, adding a sequence suffix", filepath);
+            }
+        }
+    }
+
+    private static byte[] encode(byte[] png, String format) throws IOException {
+        int maxWidth = configuredInt(MAX_WIDTH_KEY, 0);
+        if (maxWidth <= 0 && "png".equals(format)) return png;
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) return png;
+
+        if (maxWidth > 0 && image.getWidth() > maxWidth) {
+            image = scale(image, maxWidth, "png".equals(format));
+        } else if (!"png".equals(format)) {
+            image = scale(image, image.getWidth(), false);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        if ("jpg".equals(format)) {
+            writeJpeg(image, out);
+        } else if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No image writer for format " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, boolean keepAlpha) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
         }
+        return scaled;
+    }
+
+    private static void writeJpeg(BufferedImage image, ByteArrayOutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(configuredQuality());
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static ThreadPoolExecutor createWriter() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configuredInt(QUEUE_CAPACITY_KEY, DEFAULT_QUEUE_CAPACITY)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    DROPPED.incrementAndGet();
+                    LOGGER.warn("Screenshot writer queue is full ({} pending), dropping capture", pool.getQueue().size());
+                });
+        executor.prestartCoreThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitPendingWrites(Duration.ofSeconds(10)),
+                "screenshot-writer-flush"));
+        return executor;
+    }
+
+    private static String configuredFormat() {
+        String format = R.CONFIG.get(FORMAT_KEY);
+        if (format == null || format.isBlank()) return "png";
+
+        String normalized = format.trim().toLowerCase(Locale.ROOT);
+        return "jpeg".equals(normalized) ? "jpg" : normalized;
+    }
+
+    private static float configuredQuality() {
+        String quality = R.CONFIG.get(JPEG_QUALITY_KEY);
+        return quality == null || quality.isBlank() ? DEFAULT_JPEG_QUALITY : Float.parseFloat(quality.trim());
+    }
+
+    private static int configuredInt(String key, int fallback) {
+        String value = R.CONFIG.get(key);
+        return value == null || value.isBlank() ? fallback : Integer.parseInt(value.trim());
     }
-}
\ No newline at end of file
+}
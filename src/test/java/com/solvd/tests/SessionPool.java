@@ -0,0 +1,124 @@
+package com.solvd.tests;
+
+import com.solvd.browser.FrontOfficeUrls;
+import com.solvd.browser.ResourcePolicy;
+import com.solvd.browser.SessionReset;
+import com.zebrunner.carina.utils.R;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+final class SessionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionPool.class);
+
+    private static final String ENABLED_KEY = "session_pool";
+    private static final String MAX_USES_KEY = "session_pool.max_uses";
+    private static final int DEFAULT_MAX_USES = 20;
+    private static final String DISABLE_QUIT_KEY = "forcibly_disable_driver_quit";
+    private static final String[] CAPABILITY_KEYS = {"selenium_url", "custom_capabilities", "capabilities.browserName"};
+
+    private static final ThreadLocal<Lease> LEASE = new ThreadLocal<>();
+
+    private record Lease(WebDriver driver, String key, String primaryWindow, String primaryContext, int uses) {
+
+        Lease used() {
+            return new Lease(driver, key, primaryWindow, primaryContext, uses + 1);
+        }
+    }
+
+    private SessionPool() {
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(R.CONFIG.get(ENABLED_KEY));
+    }
+
+    static WebDriver acquire(Supplier<WebDriver> create, Runnable quit) {
+        String key = capabilityKey();
+        Lease lease = LEASE.get();
+        if (lease != null && !lease.key().equals(key)) {
+            LOGGER.info("Capabilities changed from [{}] to [{}], quitting pooled session", lease.key(), key);
+            recycle(quit);
+            lease = null;
+        }
+
+        WebDriver driver = create.get();
+        if (lease == null || lease.driver() != driver) {
+            R.CONFIG.put(DISABLE_QUIT_KEY, "true", true);
+            LEASE.set(new Lease(driver, key, driver.getWindowHandle(), SessionReset.currentContext(driver), 0));
+            if (lease != null) {
+                LOGGER.debug("Pooled session was replaced outside the pool");
+            }
+        }
+        return driver;
+    }
+
+    static void release(Runnable quit) {
+        Lease lease = LEASE.get();
+        if (lease == null) return;
+
+        Lease used = lease.used();
+        int maxUses = maxUses();
+        if (used.uses() >= maxUses) {
+            LOGGER.info("Recycling session after {} tests", used.uses());
+            recycle(quit);
+            return;
+        }
+
+        SessionReset.Result reset = SessionReset.reset(lease.driver(), lease.primaryWindow(), lease.primaryContext(),
+                visitedOrigins(lease.driver()));
+        if (!reset.clean()) {
+            LOGGER.warn("Recycling session that failed the reset check after {} tests: {}", used.uses(), reset.reason());
+            recycle(quit);
+            return;
+        }
+        LEASE.set(used);
+    }
+
+    static void retire(Runnable quit) {
+        if (LEASE.get() != null) {
+            recycle(quit);
+        }
+    }
+
+    private static void recycle(Runnable quit) {
+        Lease lease = LEASE.get();
+        if (lease != null) {
+            ResourcePolicy.detach(lease.driver());
+        }
+        LEASE.remove();
+        R.CONFIG.put(DISABLE_QUIT_KEY, "false", true);
+        quit.run();
+    }
+
+    private static Set<URI> visitedOrigins(WebDriver driver) {
+        Set<URI> origins = new LinkedHashSet<>();
+        String storefrontUrl = R.CONFIG.get("url");
+        if (storefrontUrl == null || storefrontUrl.isBlank()) return origins;
+
+        origins.add(URI.create(storefrontUrl).resolve("/"));
+        FrontOfficeUrls.lookup(driver, storefrontUrl).ifPresent(root -> origins.add(root.resolve("/")));
+        return origins;
+    }
+
+    private static String capabilityKey() {
+        StringBuilder key = new StringBuilder();
+        for (String name : CAPABILITY_KEYS) {
+            if (key.length() > 0) key.append('|');
+            String value = R.CONFIG.get(name);
+            key.append(value == null ? "" : value);
+        }
+        return key.toString();
+    }
+
+    private static int maxUses() {
+        String value = R.CONFIG.get(MAX_USES_KEY);
+        return value == null || value.isBlank() ? DEFAULT_MAX_USES : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,236 @@
+package com.solvd.tests;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ShardingListener implements IAlterSuiteListener, ITestListener, ISuiteListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardingListener.class);
+
+    private static final String SHARDS_PROPERTY = "shards";
+    private static final String HISTORY_PROPERTY = "sharding.history";
+    private static final String DEFAULT_HISTORY = "target/test-durations.properties";
+    private static final long UNKNOWN_DURATION_MS = 30_000;
+
+    private static volatile MethodDurations durations;
+
+    private record Unit(String className, String methodName, long expectedMillis) {
+    }
+
+    private static final class Shard {
+        private final List<Unit> units = new ArrayList<>();
+        private long load;
+
+        private void add(Unit unit) {
+            units.add(unit);
+            load += unit.expectedMillis();
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        for (XmlSuite suite : suites) {
+            int slots = shardCount(suite);
+            if (slots <= 1) continue;
+
+            MethodDurations history = durations(suite);
+            long fallback = history.median(UNKNOWN_DURATION_MS);
+
+            Map<XmlTest, List<Unit>> unitsByTest = new LinkedHashMap<>();
+            for (XmlTest test : suite.getTests()) {
+                unitsByTest.put(test, units(test, history, fallback));
+            }
+            Map<XmlTest, Integer> slotsByTest = allocate(unitsByTest, slots);
+
+            List<XmlTest> originals = new ArrayList<>(suite.getTests());
+            suite.getTests().clear();
+            for (XmlTest original : originals) {
+                if (unitsByTest.get(original).isEmpty()) {
+                    suite.getTests().add(original);
+                    continue;
+                }
+                List<Shard> shards = balance(unitsByTest.get(original), slotsByTest.get(original));
+                for (int i = 0; i < shards.size(); i++) {
+                    addShardTest(suite, original, shards.get(i), i + 1, shards.size());
+                }
+            }
+
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(Math.max(suite.getThreadCount(), suite.getTests().size()));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        MethodDurations history = durations;
+        if (history != null) {
+            history.save();
+        }
+    }
+
+    private static void recordDuration(ITestResult result) {
+        MethodDurations history = durations;
+        if (history == null || result.getEndMillis() <= result.getStartMillis()) return;
+
+        history.record(MethodDurations.key(result.getTestClass().getRealClass(), result.getMethod().getMethodName()),
+                result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static MethodDurations durations(XmlSuite suite) {
+        if (durations == null) {
+            String configured = System.getProperty(HISTORY_PROPERTY, suite.getParameter(HISTORY_PROPERTY));
+            durations = MethodDurations.load(Path.of(configured == null || configured.isBlank() ? DEFAULT_HISTORY : configured));
+        }
+        return durations;
+    }
+
+    private static int shardCount(XmlSuite suite) {
+        String configured = System.getProperty(SHARDS_PROPERTY, suite.getParameter(SHARDS_PROPERTY));
+        if (configured == null || configured.isBlank()) return 1;
+
+        try {
+            return Integer.parseInt(configured.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid shard count: " + configured, e);
+        }
+    }
+
+    private static List<Unit> units(XmlTest test, MethodDurations history, long fallback) {
+        List<Unit> units = new ArrayList<>();
+        for (XmlClass xmlClass : test.getXmlClasses()) {
+            Class<?> testClass = xmlClass.getSupportClass();
+            for (String methodName : testMethods(xmlClass, testClass)) {
+                long expected = history.expected(MethodDurations.key(testClass, methodName)).orElse(fallback);
+                units.add(new Unit(xmlClass.getName(), methodName, expected));
+            }
+        }
+        return units;
+    }
+
+    private static List<String> testMethods(XmlClass xmlClass, Class<?> testClass) {
+        if (!xmlClass.getIncludedMethods().isEmpty()) {
+            return xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).toList();
+        }
+
+        Set<String> excluded = Set.copyOf(xmlClass.getExcludedMethods());
+        List<String> methods = new ArrayList<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test != null && test.enabled() && !Modifier.isStatic(method.getModifiers())
+                    && !excluded.contains(method.getName())) {
+                methods.add(method.getName());
+            }
+        }
+        methods.sort(Comparator.naturalOrder());
+        return methods;
+    }
+
+    private static Map<XmlTest, Integer> allocate(Map<XmlTest, List<Unit>> unitsByTest, int slots) {
+        Map<XmlTest, Long> loads = new LinkedHashMap<>();
+        unitsByTest.forEach((test, units) -> loads.put(test, units.stream().mapToLong(Unit::expectedMillis).sum()));
+        long totalLoad = Math.max(1, loads.values().stream().mapToLong(Long::longValue).sum());
+
+        Map<XmlTest, Integer> allocated = new LinkedHashMap<>();
+        int remaining = slots;
+        for (Map.Entry<XmlTest, Long> entry : loads.entrySet()) {
+            int share = (int) Math.max(1, (long) slots * entry.getValue() / totalLoad);
+            allocated.put(entry.getKey(), share);
+            remaining -= share;
+        }
+
+        while (remaining > 0) {
+            XmlTest busiest = loads.keySet().stream()
+                    .max(Comparator.comparingDouble(test -> (double) loads.get(test) / allocated.get(test)))
+                    .orElseThrow();
+            allocated.merge(busiest, 1, Integer::sum);
+            remaining--;
+        }
+        while (remaining < 0) {
+            Optional<XmlTest> lightest = loads.keySet().stream()
+                    .filter(test -> allocated.get(test) > 1)
+                    .min(Comparator.comparingDouble(test -> (double) loads.get(test) / (allocated.get(test) - 1)));
+            if (lightest.isEmpty()) {
+                LOGGER.warn("{} tests need one shard each, exceeding the {} requested shards", allocated.size(), slots);
+                break;
+            }
+            allocated.merge(lightest.get(), -1, Integer::sum);
+            remaining++;
+        }
+        return allocated;
+    }
+
+    private static List<Shard> balance(List<Unit> units, int slots) {
+        int shardCount = Math.max(1, Math.min(slots, units.size()));
+        PriorityQueue<Shard> byLoad = new PriorityQueue<>(Comparator.comparingLong((Shard shard) -> shard.load));
+        List<Shard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            Shard shard = new Shard();
+            shards.add(shard);
+            byLoad.add(shard);
+        }
+
+        units.stream()
+                .sorted(Comparator.comparingLong(Unit::expectedMillis).reversed())
+                .forEach(unit -> {
+                    Shard lightest = byLoad.poll();
+                    lightest.add(unit);
+                    byLoad.add(lightest);
+                });
+        return shards;
+    }
+
+    private static void addShardTest(XmlSuite suite, XmlTest original, Shard shard, int index, int total) {
+        XmlTest test = new XmlTest(suite);
+        test.setName(total == 1 ? original.getName() : original.getName() + " [shard " + index + "/" + total + "]");
+        test.setParameters(new LinkedHashMap<>(original.getLocalParameters()));
+
+        Map<String, List<XmlInclude>> includesByClass = new LinkedHashMap<>();
+        for (Unit unit : shard.units) {
+            includesByClass.computeIfAbsent(unit.className(), ignored -> new ArrayList<>())
+                    .add(new XmlInclude(unit.methodName()));
+        }
+        List<XmlClass> classes = new ArrayList<>();
+        includesByClass.forEach((className, includes) -> {
+            XmlClass xmlClass = new XmlClass(className);
+            xmlClass.setIncludedMethods(includes);
+            classes.add(xmlClass);
+        });
+        test.setXmlClasses(classes);
+
+        LOGGER.info("{}: {} methods, expected {} ms: {}", test.getName(), shard.units.size(), shard.load,
+                shard.units.stream().map(Unit::methodName).collect(Collectors.joining(", ")));
+    }
+}
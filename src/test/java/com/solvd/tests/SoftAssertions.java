@@ -0,0 +1,19 @@
+package com.solvd.tests;
+
+import org.testng.asserts.SoftAssert;
+
+final class SoftAssertions {
+
+    private static final ThreadLocal<SoftAssert> SOFT_ASSERT = ThreadLocal.withInitial(SoftAssert::new);
+
+    private SoftAssertions() {
+    }
+
+    static void reset() {
+        SOFT_ASSERT.set(new SoftAssert());
+    }
+
+    static SoftAssert current() {
+        return SOFT_ASSERT.get();
+    }
+}
@@ -0,0 +1,301 @@
+package com.solvd.tests;
+
+import com.solvd.api.CartSeeder;
+import com.solvd.api.CatalogCrawler;
+import com.solvd.api.CatalogIndex;
+import com.solvd.browser.ResourcePolicy;
+import com.solvd.metrics.CommandMetrics;
+import com.solvd.metrics.CommandMetricsReport;
+import com.solvd.metrics.CommandTimingListener;
+import com.solvd.metrics.WaitLedger;
+import com.solvd.metrics.WaitLedgerReport;
+import com.solvd.offline.FixtureProduct;
+import com.solvd.offline.FixtureServer;
+import com.solvd.offline.FixtureStorefront;
+import com.solvd.offline.InMemoryWebDriver;
+import com.solvd.pages.common.CartPageBase;
+import com.solvd.pages.common.StorefrontNavigator;
+import com.solvd.replay.RecordReplayProxy;
+import com.zebrunner.carina.core.AbstractTest;
+import com.zebrunner.carina.utils.R;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.asserts.SoftAssert;
+
+import java.lang.reflect.Method;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public abstract class StorefrontTest extends AbstractTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorefrontTest.class);
+    private static final String OFFLINE_PROPERTY = "offline";
+    private static final String FIXTURE_SERVER_PROPERTY = "fixture_server";
+    private static final String FIXTURE_SERVER_PORT_PROPERTY = "fixture_server.port";
+    private static final String REPLAY_PROPERTY = "replay";
+    private static final String REPLAY_STORE_PROPERTY = "replay.store";
+    private static final String REPLAY_PORT_PROPERTY = "replay.port";
+    private static final String DEFAULT_REPLAY_STORE = "replay/storefront.store";
+    private static final String COOKIE_LANDING_PATH = "/robots.txt";
+    private static final String COMMAND_METRICS_KEY = "command_metrics";
+    private static final String COMMAND_METRICS_DIR_KEY = "command_metrics.dir";
+    private static final String DEFAULT_COMMAND_METRICS_DIR = "target/command-metrics";
+    private static final String WAIT_LEDGER_REPORT_KEY = "wait_ledger.report";
+    private static final String DEFAULT_WAIT_LEDGER_REPORT = "target/wait-ledger.csv";
+    private static final int WAIT_LEDGER_TOP_SITES = 10;
+    private static final ThreadLocal<InMemoryWebDriver> OFFLINE_DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<ResourcePolicy> RESOURCE_POLICY = new ThreadLocal<>();
+
+    private static FixtureServer fixtureServer;
+    private static RecordReplayProxy replayProxy;
+    private static volatile CatalogIndex catalogIndex;
+
+    @Parameters({OFFLINE_PROPERTY, FIXTURE_SERVER_PROPERTY, REPLAY_PROPERTY})
+    @BeforeSuite(alwaysRun = true)
+    public void configureStorefront(@Optional("") String offline, @Optional("") String fixtureServerEnabled,
+                                    @Optional("") String replayMode) {
+        enableIfRequested(OFFLINE_PROPERTY, offline);
+        enableIfRequested(FIXTURE_SERVER_PROPERTY, fixtureServerEnabled);
+        if (!replayMode.isBlank() && System.getProperty(REPLAY_PROPERTY) == null) {
+            System.setProperty(REPLAY_PROPERTY, replayMode);
+        }
+
+        if (isOffline()) {
+            R.CONFIG.put("url", InMemoryWebDriver.BASE_URL, true);
+            LOGGER.info("Running against the in-memory storefront at {}", InMemoryWebDriver.BASE_URL);
+        } else if (Boolean.getBoolean(FIXTURE_SERVER_PROPERTY) && fixtureServer == null) {
+            fixtureServer = FixtureServer.start(Integer.getInteger(FIXTURE_SERVER_PORT_PROPERTY, 0));
+            R.CONFIG.put("url", fixtureServer.baseUrl(), true);
+        } else if (System.getProperty(REPLAY_PROPERTY) != null && replayProxy == null) {
+            RecordReplayProxy.Mode mode = RecordReplayProxy.Mode.valueOf(
+                    System.getProperty(REPLAY_PROPERTY).trim().toUpperCase(Locale.ROOT));
+            String upstreamUrl = R.CONFIG.get("url");
+            replayProxy = RecordReplayProxy.start(mode, upstreamUrl,
+                    Path.of(System.getProperty(REPLAY_STORE_PROPERTY, DEFAULT_REPLAY_STORE)),
+                    Integer.getInteger(REPLAY_PORT_PROPERTY, 0));
+            R.CONFIG.put("url", replayProxy.localUrlFor(upstreamUrl), true);
+        }
+    }
+
+    @BeforeSuite(alwaysRun = true, dependsOnMethods = "configureStorefront")
+    public void buildCatalogIndex() {
+        try {
+            catalog();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Catalog index could not be built before the suite, tests will retry on first use", e);
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void stopLocalStorefront() {
+        if (fixtureServer != null) {
+            fixtureServer.close();
+            fixtureServer = null;
+        }
+        if (replayProxy != null) {
+            replayProxy.close();
+            replayProxy = null;
+        }
+        catalogIndex = null;
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void reportWaitLedger() {
+        List<WaitLedger.Row> rows = WaitLedger.rows();
+        if (rows.isEmpty()) return;
+
+        String report = R.CONFIG.get(WAIT_LEDGER_REPORT_KEY);
+        Path file = Path.of(report == null || report.isBlank() ? DEFAULT_WAIT_LEDGER_REPORT : report);
+        WaitLedgerReport.write(file, rows);
+        LOGGER.info("Wait ledger ({}): {}", file, WaitLedgerReport.summarize(rows, WAIT_LEDGER_TOP_SITES));
+        WaitLedger.reset();
+    }
+
+    @Override
+    public WebDriver getDriver() {
+        WebDriver driver = isOffline() ? offlineDriver() : sessionDriver();
+        if (!isOffline() && RESOURCE_POLICY.get() == null) {
+            ResourcePolicy.attach(driver).ifPresent(RESOURCE_POLICY::set);
+        }
+        return CommandMetrics.isActive() ? CommandTimingListener.decorate(driver) : driver;
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void resetSoftAssert() {
+        SoftAssertions.reset();
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void startCommandMetrics(Method method) {
+        if (isCommandMetricsEnabled() || CommandBudgetListener.budgetFor(method).isPresent()) {
+            CommandMetrics.begin(getClass().getSimpleName() + "." + method.getName());
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void writeCommandMetrics() {
+        CommandTimingListener.release();
+        CommandMetrics.end().filter(snapshot -> isCommandMetricsEnabled()).ifPresent(snapshot -> {
+            String directory = R.CONFIG.get(COMMAND_METRICS_DIR_KEY);
+            CommandMetricsReport.write(Path.of(directory == null || directory.isBlank() ? DEFAULT_COMMAND_METRICS_DIR : directory),
+                    snapshot);
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void finishSession(ITestResult result) {
+        reportResourcePolicy(result);
+        if (!isOffline() && SessionPool.isEnabled()) {
+            SessionPool.release(this::quitDriver);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void retireSession() {
+        if (!isOffline() && SessionPool.isEnabled()) {
+            SessionPool.retire(this::quitDriver);
+        }
+    }
+
+    private void reportResourcePolicy(ITestResult result) {
+        ResourcePolicy policy = RESOURCE_POLICY.get();
+        if (policy == null) return;
+
+        ResourcePolicy.Report report = policy.drainReport();
+        LOGGER.info("{}: blocked {} requests {}, stubbed {} requests {}; last page transferred {} bytes in {} requests",
+                result.getMethod().getMethodName(), report.blockedRequests(), report.blocked(),
+                report.stubbedRequests(), report.stubbed(), report.pageTransferBytes(), report.pageRequests());
+        RESOURCE_POLICY.remove();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void quitOfflineDriver() {
+        InMemoryWebDriver driver = OFFLINE_DRIVER.get();
+        if (driver != null) {
+            driver.quit();
+            OFFLINE_DRIVER.remove();
+        }
+    }
+
+    protected CartPageBase openSeededCart(int quantity, Supplier<CartPageBase> uiPath) {
+        WebDriver driver = getDriver();
+        try {
+            if (isOffline()) {
+                InMemoryWebDriver offline = offlineDriver();
+                FixtureProduct product = offline.storefront().catalog().get(0);
+                offline.cart().add(product.id(), quantity);
+                driver.get(URI.create(InMemoryWebDriver.BASE_URL).resolve(FixtureStorefront.cartUrl()).toString());
+            } else {
+                CartSeeder.SeededCart seeded = new CartSeeder(R.CONFIG.get("url")).seed(quantity);
+                driver.get(seeded.origin().resolve(COOKIE_LANDING_PATH).toString());
+                for (HttpCookie cookie : seeded.cookies()) {
+                    driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                            .path(cookie.getPath() == null ? "/" : cookie.getPath())
+                            .isSecure(cookie.getSecure())
+                            .isHttpOnly(cookie.isHttpOnly())
+                            .build());
+                }
+                driver.get(seeded.cartUrl().toString());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cart seeding failed, reaching the cart through the UI instead", e);
+            return uiPath.get();
+        }
+
+        CartPageBase cartPage = initPage(driver, CartPageBase.class);
+        if (holdsSeededLine(cartPage, quantity)) return cartPage;
+
+        LOGGER.warn("Seeded cart did not show a line of {} item(s), reaching the cart through the UI instead", quantity);
+        if (isOffline()) {
+            offlineDriver().cart().clear();
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        return uiPath.get();
+    }
+
+    private static boolean holdsSeededLine(CartPageBase cartPage, int quantity) {
+        try {
+            return cartPage.getCartLinesCount() > 0 && cartPage.getQuantity() == quantity;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Cannot read the seeded cart", e);
+            return false;
+        }
+    }
+
+    protected StorefrontNavigator navigate() {
+        return new StorefrontNavigator(getDriver());
+    }
+
+    protected StorefrontNavigator navigate(StorefrontNavigator.Mode mode) {
+        return new StorefrontNavigator(getDriver(), mode);
+    }
+
+    protected static CatalogIndex catalog() {
+        CatalogIndex index = catalogIndex;
+        if (index == null) {
+            synchronized (StorefrontTest.class) {
+                if (catalogIndex == null) {
+                    catalogIndex = isOffline() ? offlineCatalog() : new CatalogCrawler(R.CONFIG.get("url")).crawl();
+                }
+                index = catalogIndex;
+            }
+        }
+        return index;
+    }
+
+    protected static SoftAssert softly() {
+        return SoftAssertions.current();
+    }
+
+    private WebDriver sessionDriver() {
+        return SessionPool.isEnabled() ? SessionPool.acquire(super::getDriver, this::quitDriver) : super.getDriver();
+    }
+
+    private static InMemoryWebDriver offlineDriver() {
+        InMemoryWebDriver driver = OFFLINE_DRIVER.get();
+        if (driver == null) {
+            driver = new InMemoryWebDriver();
+            OFFLINE_DRIVER.set(driver);
+        }
+        return driver;
+    }
+
+    private static CatalogIndex offlineCatalog() {
+        URI baseUrl = URI.create(InMemoryWebDriver.BASE_URL);
+        List<CatalogIndex.Product> products = new FixtureStorefront().catalog().stream()
+                .map(p -> new CatalogIndex.Product(p.id(), p.name(), p.name(),
+                        baseUrl.resolve(FixtureStorefront.productUrl(p.id())), p.price(), p.hasSizes() || p.hasColors()))
+                .toList();
+        return new CatalogIndex(products, Map.of());
+    }
+
+    private static boolean isCommandMetricsEnabled() {
+        return Boolean.parseBoolean(R.CONFIG.get(COMMAND_METRICS_KEY));
+    }
+
+    protected static boolean isOffline() {
+        return Boolean.getBoolean(OFFLINE_PROPERTY);
+    }
+
+    private static void enableIfRequested(String property, String parameter) {
+        if (Boolean.parseBoolean(parameter)) {
+            System.setProperty(property, "true");
+        }
+    }
+}
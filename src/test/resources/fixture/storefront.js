@@ -0,0 +1,59 @@
+(function () {
+    var cartEndpoint = '/index.php?controller=cart';
+
+    function post(url, params) {
+        params.set('ajax', '1');
+        return fetch(url, {
+            method: 'POST',
+            credentials: 'same-origin',
+            headers: {'Content-Type': 'application/x-www-form-urlencoded'},
+            body: params.toString()
+        }).then(function (response) {
+            return response.text();
+        });
+    }
+
+    function refreshPage(url, params, withModal) {
+        params.set('page', location.pathname + location.search);
+        if (withModal) params.set('modal', '1');
+        return post(url, params).then(function (html) {
+            var parsed = new DOMParser().parseFromString(html, 'text/html');
+            document.body.innerHTML = parsed.body.innerHTML;
+        });
+    }
+
+    document.addEventListener('click', function (event) {
+        var target = event.target;
+        var addToCart = target.closest("[data-button-action='add-to-cart']");
+        if (addToCart && addToCart.form) {
+            event.preventDefault();
+            refreshPage(cartEndpoint, new URLSearchParams(new FormData(addToCart.form)), true);
+            return;
+        }
+        var increase = target.closest('.js-increase-product-quantity');
+        if (increase) {
+            event.preventDefault();
+            refreshPage(cartEndpoint, new URLSearchParams({update: '1', op: 'up', qty: '1', id_product: increase.dataset.idProduct}));
+            return;
+        }
+        var remove = target.closest('a.remove-from-cart');
+        if (remove) {
+            event.preventDefault();
+            refreshPage(cartEndpoint, new URLSearchParams({delete: '1', id_product: remove.dataset.idProduct}));
+        }
+    });
+
+    document.addEventListener('keydown', function (event) {
+        if (event.key !== 'Enter') return;
+        var input = event.target.closest && event.target.closest('input.js-cart-line-product-quantity');
+        if (!input) return;
+        event.preventDefault();
+        refreshPage(cartEndpoint, new URLSearchParams({update: '1', op: 'set', qty: input.value, id_product: input.dataset.idProduct}));
+    });
+
+    document.addEventListener('change', function (event) {
+        var form = event.target.closest && event.target.closest('form#add-to-cart-or-refresh');
+        if (!form) return;
+        post(location.pathname + location.search + '&action=refresh', new URLSearchParams(new FormData(form)));
+    });
+})();